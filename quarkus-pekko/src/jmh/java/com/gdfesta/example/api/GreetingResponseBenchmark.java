@@ -0,0 +1,60 @@
+package com.gdfesta.example.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gdfesta.example.write_side.greeting.aggregate.CloseState;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingState;
+import com.gdfesta.example.write_side.greeting.aggregate.OpenState;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The per-request mapping of {@link GreetingResource}: aggregate state to {@link
+ * GreetingResponse}, and the response to JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GreetingResponseBenchmark {
+
+    @Param({ "open", "close" })
+    String status;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private GreetingState state;
+    private GreetingResponse response;
+
+    @Setup
+    public void setUp() {
+        state = status.equals("open") ? new OpenState(3, 5) : new CloseState(5);
+        response = GreetingResponse.from(state);
+    }
+
+    @Benchmark
+    public GreetingResponse map() {
+        return GreetingResponse.from(state);
+    }
+
+    @Benchmark
+    public byte[] mapAndWrite() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(GreetingResponse.from(state));
+    }
+
+    @Benchmark
+    public byte[] write() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
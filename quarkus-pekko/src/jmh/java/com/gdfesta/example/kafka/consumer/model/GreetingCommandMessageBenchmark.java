@@ -0,0 +1,46 @@
+package com.gdfesta.example.kafka.consumer.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Jackson (de)serialization of the polymorphic Kafka command messages consumed from
+ * {@code greeting-commands}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GreetingCommandMessageBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GreetingCommandMessage message = new GreetingCommandMessage.GreetCommand(
+        "Alice"
+    );
+    private final byte[] json = "{\"commandType\":\"Greet\",\"name\":\"Alice\"}".getBytes(
+        StandardCharsets.UTF_8
+    );
+
+    @Benchmark
+    public GreetingCommandMessage deserialize() throws IOException {
+        return objectMapper.readValue(json, GreetingCommandMessage.class);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(message);
+    }
+}
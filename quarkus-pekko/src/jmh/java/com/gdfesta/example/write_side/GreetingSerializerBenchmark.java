@@ -0,0 +1,94 @@
+package com.gdfesta.example.write_side;
+
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingCommand;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingEvent;
+import com.gdfesta.example.write_side.greeting.aggregate.OpenState;
+import com.typesafe.config.ConfigFactory;
+import java.io.NotSerializableException;
+import java.util.concurrent.TimeUnit;
+import org.apache.pekko.actor.ExtendedActorSystem;
+import org.apache.pekko.actor.typed.ActorSystem;
+import org.apache.pekko.actor.typed.javadsl.Behaviors;
+import org.apache.pekko.serialization.SerializerWithStringManifest;
+import org.apache.pekko.serialization.jackson.JacksonJsonSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization and deserialization time of GreetingSerializer against Jackson JSON for a
+ * journal event, a snapshot and a sharding command. Their sizes are asserted by
+ * GreetingSerializerTest.
+ *
+ * <p>Run with {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.args=GreetingSerializer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GreetingSerializerBenchmark {
+
+    @Param({ "jackson", "binary" })
+    String format;
+
+    @Param({ "event", "state", "command" })
+    String payload;
+
+    private ActorSystem<Void> system;
+    private SerializerWithStringManifest serializer;
+    private Object message;
+    private byte[] bytes;
+    private String manifest;
+
+    @Setup
+    public void setUp() {
+        system = ActorSystem.create(
+            Behaviors.empty(),
+            "serializer-benchmark",
+            ConfigFactory.parseString("pekko.actor.provider = local").withFallback(
+                ConfigFactory.load()
+            )
+        );
+        var extendedSystem = (ExtendedActorSystem) system.classicSystem();
+        serializer = switch (format) {
+            case "jackson" -> new JacksonJsonSerializer(extendedSystem, "jackson-json");
+            case "binary" -> new GreetingSerializer(extendedSystem);
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        message = switch (payload) {
+            case "event" -> new GreetingEvent.Greeted("Alice");
+            case "state" -> new OpenState(3, 5);
+            case "command" -> new GreetingCommand.Greet("Alice", system.deadLetters());
+            default -> throw new IllegalArgumentException("Unknown payload " + payload);
+        };
+        bytes = serializer.toBinary(message);
+        manifest = serializer.manifest(message);
+    }
+
+    @TearDown
+    public void tearDown() {
+        system.terminate();
+        system.getWhenTerminated().toCompletableFuture().join();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.toBinary(message);
+    }
+
+    @Benchmark
+    public Object deserialize() throws NotSerializableException {
+        return serializer.fromBinary(bytes, manifest);
+    }
+}
@@ -0,0 +1,107 @@
+package com.gdfesta.example.write_side.greeting.aggregate;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.pekko.actor.typed.ActorSystem;
+import org.apache.pekko.actor.typed.Behavior;
+import org.apache.pekko.actor.typed.javadsl.AskPattern;
+import org.apache.pekko.pattern.StatusReply;
+import org.apache.pekko.persistence.typed.PersistenceId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of a single hot entity receiving {@value #COMMANDS_IN_FLIGHT} concurrent
+ * Greet/UnGreet commands, handled one write per command or in batches. Runs against the
+ * in-memory journal, so it measures the actor and persistence overhead, not the database.
+ *
+ * <p>Run with {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.args=GreetingCommandBatching}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GreetingCommandBatchingBenchmark {
+
+    private static final int COMMANDS_IN_FLIGHT = 64;
+    private static final Duration ASK_TIMEOUT = Duration.ofSeconds(10);
+
+    @Param({ "single", "batched" })
+    String mode;
+
+    @Param({ "100" })
+    int maxBatchSize;
+
+    private ActorSystem<GreetingCommand> entity;
+
+    @Setup
+    public void setUp() {
+        var persistenceId = PersistenceId.of("greeting-aggregate", "bench-" + UUID.randomUUID());
+        var tags = new GreetingTags("greeting-", 5);
+        Behavior<GreetingCommand> behavior = switch (mode) {
+            case "single" -> GreetingActorBehavior.create(persistenceId, tags);
+            case "batched" -> GreetingCommandBatcher.create(persistenceId, tags, maxBatchSize);
+            default -> throw new IllegalArgumentException("Unknown mode " + mode);
+        };
+        entity = ActorSystem.create(behavior, "greeting-benchmark", inMemoryConfig());
+    }
+
+    @TearDown
+    public void tearDown() {
+        entity.terminate();
+        entity.getWhenTerminated().toCompletableFuture().join();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMMANDS_IN_FLIGHT)
+    public void greetAndUnGreet() {
+        // Alternating keeps the count between 0 and 1, so no command is ever rejected
+        var replies = new CompletableFuture<?>[COMMANDS_IN_FLIGHT];
+        for (int i = 0; i < COMMANDS_IN_FLIGHT; i++) {
+            boolean greet = i % 2 == 0;
+            replies[i] = AskPattern.<GreetingCommand, StatusReply<GreetingState>>ask(
+                entity,
+                replyTo ->
+                    greet
+                        ? new GreetingCommand.Greet("bench", replyTo)
+                        : new GreetingCommand.UnGreet(replyTo),
+                ASK_TIMEOUT,
+                entity.scheduler()
+            ).toCompletableFuture();
+        }
+        CompletableFuture.allOf(replies).join();
+    }
+
+    private static Config inMemoryConfig() {
+        return ConfigFactory.parseString(
+            """
+            pekko.loglevel = WARNING
+            pekko.actor.serialization-bindings {
+              "com.gdfesta.example.write_side.JacksonJsonSerialization" = jackson-json
+            }
+            pekko.persistence.journal.plugin = "pekko.persistence.journal.inmem"
+            pekko.persistence.snapshot-store.plugin = "pekko.persistence.snapshot-store.local"
+            pekko.persistence.snapshot-store.local.dir = "target/jmh-snapshots"
+            """
+        )
+            .withFallback(ConfigFactory.defaultReference())
+            .resolve();
+    }
+}
@@ -0,0 +1,58 @@
+package com.gdfesta.example.write_side.greeting.aggregate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Replay of N events from the empty state, i.e. the in-memory part of an entity recovery
+ * without snapshot. Journal reads and deserialization are not included.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GreetingRecoveryBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    int events;
+
+    private List<GreetingEvent> journal;
+
+    @Setup
+    public void setUp() {
+        // Two greets then one ungreet: the count climbs to the maximum, closes and reopens,
+        // so both state types are replayed
+        journal = new ArrayList<>(events);
+        GreetingState state = new OpenState(0, 5);
+        for (int i = 0; i < events; i++) {
+            GreetingEvent event = (state instanceof CloseState || i % 3 == 2)
+                ? new GreetingEvent.UnGreeted()
+                : new GreetingEvent.Greeted("Alice");
+            state = state.onEvent(event);
+            journal.add(event);
+        }
+    }
+
+    @Benchmark
+    public GreetingState replay() {
+        GreetingState state = new OpenState(0, 5);
+        for (GreetingEvent event : journal) {
+            state = state.onEvent(event);
+        }
+        return state;
+    }
+}
@@ -0,0 +1,80 @@
+package com.gdfesta.example.write_side.greeting.aggregate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Command validation and event application of {@link OpenState} and {@link CloseState}, as run
+ * by the aggregate for every command and every persisted or replayed event.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GreetingStateBenchmark {
+
+    private final GreetingState open = new OpenState(2, 5);
+    private final GreetingState almostClosed = new OpenState(4, 5);
+    private final GreetingState closed = new CloseState(5);
+
+    private final GreetingCommand.NonGet greet = new GreetingCommand.Greet("Alice", null);
+    private final GreetingCommand.NonGet unGreet = new GreetingCommand.UnGreet(null);
+    private final GreetingEvent greeted = new GreetingEvent.Greeted("Alice");
+    private final GreetingEvent unGreeted = new GreetingEvent.UnGreeted();
+
+    @Benchmark
+    public List<GreetingEvent> openOnGreet() {
+        return open.onCommand(greet);
+    }
+
+    @Benchmark
+    public List<GreetingEvent> openOnUnGreet() {
+        return open.onCommand(unGreet);
+    }
+
+    @Benchmark
+    public GreetingState openOnGreeted() {
+        return open.onEvent(greeted);
+    }
+
+    @Benchmark
+    public GreetingState openOnUnGreeted() {
+        return open.onEvent(unGreeted);
+    }
+
+    @Benchmark
+    public GreetingState openToClosed() {
+        return almostClosed.onEvent(greeted);
+    }
+
+    @Benchmark
+    public List<GreetingEvent> closedOnUnGreet() {
+        return closed.onCommand(unGreet);
+    }
+
+    @Benchmark
+    public GreetingState closedOnUnGreeted() {
+        return closed.onEvent(unGreeted);
+    }
+
+    @Benchmark
+    public Object closedRejectsGreet() {
+        // Rejections are signalled with an exception, including its stack trace
+        try {
+            return closed.onCommand(greet);
+        } catch (IllegalStateException e) {
+            return e;
+        }
+    }
+}
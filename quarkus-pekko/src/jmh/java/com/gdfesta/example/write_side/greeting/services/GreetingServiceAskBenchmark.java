@@ -0,0 +1,154 @@
+package com.gdfesta.example.write_side.greeting.services;
+
+import com.gdfesta.example.metrics.GreetingServiceMetrics;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingActorBehavior;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingCommand;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingState;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingTags;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.apache.pekko.actor.typed.ActorSystem;
+import org.apache.pekko.actor.typed.javadsl.Behaviors;
+import org.apache.pekko.cluster.MemberStatus;
+import org.apache.pekko.cluster.sharding.typed.javadsl.ClusterSharding;
+import org.apache.pekko.cluster.sharding.typed.javadsl.Entity;
+import org.apache.pekko.cluster.typed.Cluster;
+import org.apache.pekko.cluster.typed.Join;
+import org.apache.pekko.pattern.StatusReply;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of one request through {@link GreetingService} against a single-node cluster with the
+ * in-memory journal: the current path (cached EntityRef, {@code AskUni}) next to the previous
+ * one (entityRefFor, {@code Duration} and completionStage/flatMap per call). Each invocation
+ * sends a Get, a Greet and an UnGreet to the same entity.
+ *
+ * <p>Run with the GC profiler to compare allocations per request ({@code gc.alloc.rate.norm}):
+ * {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.args="GreetingServiceAsk -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GreetingServiceAskBenchmark {
+
+    private static final String NAME = "bench";
+
+    private ActorSystem<Void> system;
+    private ClusterSharding sharding;
+    private GreetingService service;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        system = ActorSystem.create(Behaviors.empty(), "greeting-ask-benchmark", clusterConfig());
+        var cluster = Cluster.get(system);
+        cluster.manager().tell(Join.create(cluster.selfMember().address()));
+        while (cluster.selfMember().status() != MemberStatus.up()) {
+            Thread.sleep(50);
+        }
+
+        var tags = new GreetingTags("greeting-", 5);
+        sharding = ClusterSharding.get(system);
+        sharding.init(
+            Entity.of(GreetingActorBehavior.ENTITY_TYPE_KEY, context ->
+                GreetingActorBehavior.create(context, tags)
+            )
+        );
+
+        service = new GreetingService();
+        service.sharding = sharding;
+        service.metrics = new GreetingServiceMetrics(new SimpleMeterRegistry());
+        service.askTimeout = Duration.ofSeconds(5);
+        service.entityRefCacheMaxSize = 10_000;
+        service.maxInFlightPerEntity = 64;
+        service.init();
+    }
+
+    @TearDown
+    public void tearDown() {
+        system.terminate();
+        system.getWhenTerminated().toCompletableFuture().join();
+    }
+
+    @Benchmark
+    public GreetingState service() {
+        service.get(NAME).await().indefinitely();
+        service.greet(NAME).await().indefinitely();
+        return service.ungreet(NAME).await().indefinitely();
+    }
+
+    @Benchmark
+    public GreetingState previousPath() {
+        previousGet().await().indefinitely();
+        previousGreet().await().indefinitely();
+        return previousUnGreet().await().indefinitely();
+    }
+
+    private Uni<GreetingState> previousGet() {
+        var entityRef = sharding.entityRefFor(GreetingActorBehavior.ENTITY_TYPE_KEY, NAME);
+        return Uni.createFrom()
+            .completionStage(entityRef.ask(GreetingCommand.Get::new, Duration.ofSeconds(5)));
+    }
+
+    private Uni<GreetingState> previousGreet() {
+        var entityRef = sharding.entityRefFor(GreetingActorBehavior.ENTITY_TYPE_KEY, NAME);
+        return Uni.createFrom()
+            .completionStage(
+                entityRef.<StatusReply<GreetingState>>ask(
+                    replyTo -> new GreetingCommand.Greet(NAME, replyTo),
+                    Duration.ofSeconds(5)
+                )
+            )
+            .flatMap(GreetingServiceAskBenchmark::toUni);
+    }
+
+    private Uni<GreetingState> previousUnGreet() {
+        var entityRef = sharding.entityRefFor(GreetingActorBehavior.ENTITY_TYPE_KEY, NAME);
+        return Uni.createFrom()
+            .completionStage(entityRef.ask(GreetingCommand.UnGreet::new, Duration.ofSeconds(5)))
+            .flatMap(GreetingServiceAskBenchmark::toUni);
+    }
+
+    private static Uni<GreetingState> toUni(StatusReply<GreetingState> statusReply) {
+        if (statusReply.isSuccess()) {
+            return Uni.createFrom().item(statusReply.getValue());
+        } else {
+            return Uni.createFrom().failure(statusReply.getError());
+        }
+    }
+
+    private static Config clusterConfig() {
+        return ConfigFactory.parseString(
+            """
+            pekko.loglevel = WARNING
+            pekko.actor.provider = cluster
+            pekko.remote.artery.canonical.hostname = "127.0.0.1"
+            pekko.remote.artery.canonical.port = 0
+            pekko.actor.serialization-bindings {
+              "com.gdfesta.example.write_side.JacksonJsonSerialization" = jackson-json
+            }
+            pekko.persistence.journal.plugin = "pekko.persistence.journal.inmem"
+            pekko.persistence.snapshot-store.plugin = "pekko.persistence.snapshot-store.local"
+            pekko.persistence.snapshot-store.local.dir = "target/jmh-snapshots"
+            """
+        )
+            .withFallback(ConfigFactory.defaultReference())
+            .resolve();
+    }
+}
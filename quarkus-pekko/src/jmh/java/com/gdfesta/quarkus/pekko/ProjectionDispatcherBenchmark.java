@@ -0,0 +1,110 @@
+package com.gdfesta.quarkus.pekko;
+
+import com.typesafe.config.ConfigFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.pekko.actor.typed.ActorSystem;
+import org.apache.pekko.actor.typed.DispatcherSelector;
+import org.apache.pekko.actor.typed.javadsl.Behaviors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Projection handler throughput of the blocking JDBC dispatcher backed by a fixed platform thread
+ * pool or by {@link VirtualThreadExecutorConfigurator}, both limited to {@value #CONNECTIONS}
+ * tasks at once. Each of the {@value #TASKS_IN_FLIGHT} tasks stands for one handler call: it
+ * takes a connection from a pool of the same size, spends {@code cpuTokens} of CPU (decoding,
+ * building statements) and waits {@code ioMicros} on the database. No database is involved, so
+ * it measures the dispatching and blocking overhead of each executor.
+ *
+ * <p>Run with {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.args=ProjectionDispatcher}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProjectionDispatcherBenchmark {
+
+    private static final int CONNECTIONS = 10;
+    private static final int TASKS_IN_FLIGHT = 256;
+
+    @Param({ "thread-pool-executor", "virtual-thread-executor" })
+    String executor;
+
+    @Param({ "200", "1000" })
+    long ioMicros;
+
+    @Param({ "100" })
+    long cpuTokens;
+
+    private ActorSystem<Void> system;
+    private Executor dispatcher;
+    private Semaphore connections;
+
+    @Setup
+    public void setUp() {
+        var config = ConfigFactory.parseString(
+            """
+            pekko.loglevel = WARNING
+            projection-dispatcher {
+              type = Dispatcher
+              executor = "com.gdfesta.quarkus.pekko.MeteredExecutorConfigurator"
+              metered-executor.delegate = "%s"
+              thread-pool-executor.fixed-pool-size = %d
+              virtual-thread-executor.max-concurrency = %d
+              throughput = 1
+            }
+            """.formatted(executor, CONNECTIONS, CONNECTIONS)
+        )
+            .withFallback(ConfigFactory.defaultReference())
+            .resolve();
+        system = ActorSystem.create(Behaviors.empty(), "projection-dispatcher-benchmark", config);
+        dispatcher = system
+            .dispatchers()
+            .lookup(DispatcherSelector.fromConfig("projection-dispatcher"));
+        connections = new Semaphore(CONNECTIONS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        system.terminate();
+        system.getWhenTerminated().toCompletableFuture().join();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS_IN_FLIGHT)
+    public void handleEnvelopes() {
+        var handled = new CompletableFuture<?>[TASKS_IN_FLIGHT];
+        for (int i = 0; i < TASKS_IN_FLIGHT; i++) {
+            handled[i] = CompletableFuture.runAsync(this::handle, dispatcher);
+        }
+        CompletableFuture.allOf(handled).join();
+    }
+
+    private void handle() {
+        connections.acquireUninterruptibly();
+        try {
+            Blackhole.consumeCPU(cpuTokens);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(ioMicros));
+        } finally {
+            connections.release();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.gdfesta.example;
+
+import com.gdfesta.quarkus.pekko.AgroalSlickDatabaseProvider;
+import com.gdfesta.quarkus.pekko.VirtualThreadExecutorConfigurator;
+import com.typesafe.config.Config;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.pekko.actor.typed.ActorSystem;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+// The dispatchers running JDBC work are sized in application.conf, the Quarkus datasource in
+// application.yaml: a thread that finds no free connection blocks until one is released, and
+// a pool smaller than its threads starves request reads. Only warns, the node still starts.
+@ApplicationScoped
+public class DispatcherSizingCheck {
+
+    private static final Logger LOG = Logger.getLogger(DispatcherSizingCheck.class);
+
+    record Sizes(
+        int datasourceMaxSize,
+        int projectionThreads,
+        int sourceThreads,
+        int journalConnections,
+        int reservedConnections,
+        int slickThreads,
+        int slickConnections
+    ) {}
+
+    @Inject
+    ActorSystem<Void> actorSystem;
+
+    @Inject
+    GreetingSourceProviders sourceProviders;
+
+    @ConfigProperty(name = "quarkus.datasource.jdbc.max-size", defaultValue = "20")
+    int datasourceMaxSize;
+
+    void onStart(@Observes @Priority(1002) StartupEvent event) {
+        var config = actorSystem.settings().config();
+        var journalProvider = config.getString("pekko-persistence-jdbc.database-provider-fqcn");
+        var sizes = new Sizes(
+            datasourceMaxSize,
+            concurrency(config, "pekko.projection.jdbc.blocking-jdbc-dispatcher"),
+            // The slice source only polls in events-by-slices mode
+            sourceProviders.mode() == GreetingSourceProviders.Mode.EVENTS_BY_SLICES
+                ? concurrency(config, "greeting.dispatchers.projection-source")
+                : 0,
+            // The journal plugins only take from the Quarkus datasource through the bridge
+            journalProvider.equals(AgroalSlickDatabaseProvider.class.getName())
+                ? config.getInt("slick.db.maxConnections")
+                : 0,
+            config.getInt("greeting.datasource.reserved-connections"),
+            config.getInt("slick.db.numThreads"),
+            config.getInt("slick.db.maxConnections")
+        );
+        var warnings = check(sizes);
+        if (warnings.isEmpty()) {
+            LOG.infof("Dispatcher and connection pool sizes are consistent: %s", sizes);
+        }
+        warnings.forEach(LOG::warn);
+    }
+
+    // Threads of a thread pool, or tasks a virtual thread executor runs at once
+    private static int concurrency(Config config, String dispatcher) {
+        var dispatcherConfig = config.getConfig(dispatcher);
+        var executor = dispatcherConfig.hasPath("metered-executor.delegate")
+            ? dispatcherConfig.getString("metered-executor.delegate")
+            : dispatcherConfig.getString("executor");
+        boolean virtual =
+            executor.equals("virtual-thread-executor") ||
+            executor.equals(VirtualThreadExecutorConfigurator.class.getName());
+        return virtual
+            ? dispatcherConfig.getInt("virtual-thread-executor.max-concurrency")
+            : dispatcherConfig.getInt("thread-pool-executor.fixed-pool-size");
+    }
+
+    static List<String> check(Sizes sizes) {
+        var warnings = new ArrayList<String>();
+        int needed = sizes.projectionThreads() + sizes.sourceThreads() + sizes.journalConnections();
+        if (needed + sizes.reservedConnections() > sizes.datasourceMaxSize()) {
+            warnings.add(
+                String.format(
+                    "JDBC work can hold %d connections (%d projection + %d source + %d journal) " +
+                    "and %d are reserved for requests, but quarkus.datasource.jdbc.max-size is " +
+                    "%d: threads will wait for connections. Raise the pool size or lower " +
+                    "greeting.datasource.projection-connections or journal-connections.",
+                    needed,
+                    sizes.projectionThreads(),
+                    sizes.sourceThreads(),
+                    sizes.journalConnections(),
+                    sizes.reservedConnections(),
+                    sizes.datasourceMaxSize()
+                )
+            );
+        }
+        if (sizes.slickThreads() != sizes.slickConnections()) {
+            warnings.add(
+                String.format(
+                    "Slick runs %d threads on %d connections: with more threads they wait for " +
+                    "a connection, with fewer connections stay idle. Set both from " +
+                    "greeting.datasource.journal-connections.",
+                    sizes.slickThreads(),
+                    sizes.slickConnections()
+                )
+            );
+        }
+        return warnings;
+    }
+}
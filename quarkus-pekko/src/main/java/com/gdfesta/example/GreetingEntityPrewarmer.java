@@ -0,0 +1,110 @@
+package com.gdfesta.example;
+
+import com.gdfesta.example.read_side.greetings_count.GreetingsCountRepository;
+import com.gdfesta.example.read_side.greetings_count.GreetingsCountSort;
+import com.gdfesta.example.read_side.greetings_count.GreetingsCountView;
+import com.gdfesta.example.write_side.greeting.services.GreetingService;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.apache.pekko.actor.Address;
+import org.apache.pekko.actor.typed.ActorSystem;
+import org.apache.pekko.cluster.Member;
+import org.apache.pekko.cluster.MemberStatus;
+import org.apache.pekko.cluster.typed.Cluster;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+// After the cluster membership changed (startup, scale out, node loss) shards have moved and
+// their entities start on the first request that reaches them. When enabled, the leader wakes
+// the most recently greeted entities in the background instead: sharding routes each Get to
+// the node that owns the entity now, which recovers it there.
+@ApplicationScoped
+public class GreetingEntityPrewarmer {
+
+    private static final Logger LOG = Logger.getLogger(GreetingEntityPrewarmer.class);
+
+    @Inject
+    ActorSystem<Void> actorSystem;
+
+    @Inject
+    GreetingService greetingService;
+
+    @Inject
+    GreetingsCountRepository greetingsCountRepository;
+
+    @ConfigProperty(name = "greeting.prewarm.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "greeting.prewarm.entities", defaultValue = "200")
+    int entities;
+
+    @ConfigProperty(name = "greeting.prewarm.parallelism", defaultValue = "8")
+    int parallelism;
+
+    // Up members at the previous check, and when the entities were last warmed
+    private Set<Address> lastSeen;
+    private Set<Address> warmedFor;
+
+    @Scheduled(
+        every = "${greeting.prewarm.check-interval:30s}",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    void checkMembership() {
+        if (!enabled) {
+            return;
+        }
+        var cluster = Cluster.get(actorSystem);
+        var state = cluster.state();
+        var members = StreamSupport.stream(state.getMembers().spliterator(), false)
+            .filter(member -> member.status() == MemberStatus.up())
+            .map(Member::address)
+            .collect(Collectors.toSet());
+
+        // Waits for the membership to be stable for one interval, so the rebalance it caused
+        // had time to move the shards before their entities are woken
+        if (!members.equals(lastSeen)) {
+            lastSeen = members;
+            return;
+        }
+        if (members.equals(warmedFor)) {
+            return;
+        }
+        warmedFor = members;
+        // Every node sees the change, one warming is enough
+        if (!cluster.selfMember().address().equals(state.getLeader())) {
+            return;
+        }
+        prewarm()
+            .subscribe()
+            .with(
+                warmed -> LOG.infof("Pre-warmed %d greeting entities", warmed),
+                failure -> LOG.warn("Failed to pre-warm greeting entities", failure)
+            );
+    }
+
+    // Completes with the number of entities that answered
+    Uni<Integer> prewarm() {
+        var names = greetingsCountRepository
+            .page(GreetingsCountSort.LAST_GREETED_AT, null, entities)
+            .stream()
+            .map(GreetingsCountView::name)
+            .toList();
+        LOG.infof("Pre-warming %d recently greeted entities", names.size());
+
+        return Multi.createFrom()
+            .iterable(names)
+            .onItem()
+            .transformToUni(name ->
+                greetingService.get(name).replaceWith(1).onFailure().recoverWithItem(0)
+            )
+            .merge(parallelism)
+            .collect()
+            .with(Collectors.summingInt(Integer::intValue));
+    }
+}
@@ -0,0 +1,92 @@
+package com.gdfesta.example;
+
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingActorBehavior;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingEvent;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingTags;
+import com.gdfesta.quarkus.pekko.EventsBySliceSourceProvider;
+import com.gdfesta.quarkus.pekko.JournalSequence;
+import com.gdfesta.quarkus.pekko.SliceRange;
+import com.typesafe.config.Config;
+import io.agroal.api.AgroalDataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.List;
+import java.util.Locale;
+import org.apache.pekko.actor.typed.ActorSystem;
+import org.apache.pekko.persistence.jdbc.query.javadsl.JdbcReadJournal;
+import org.apache.pekko.persistence.query.Offset;
+import org.apache.pekko.projection.eventsourced.EventEnvelope;
+import org.apache.pekko.projection.eventsourced.javadsl.EventSourcedProvider;
+import org.apache.pekko.projection.javadsl.SourceProvider;
+
+@ApplicationScoped
+public class GreetingSourceProviders {
+
+    public enum Mode {
+        EVENTS_BY_TAG,
+        EVENTS_BY_SLICES,
+    }
+
+    @Inject
+    ActorSystem<Void> actorSystem;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    // Shared by the slice workers of this node, started with the first of them
+    private JournalSequence journalSequence;
+
+    public Mode mode() {
+        return Mode.valueOf(
+            sourceConfig().getString("provider").replace('-', '_').toUpperCase(Locale.ROOT)
+        );
+    }
+
+    // One projection instance runs per key: a tag, or a slice range such as "slices-0-255"
+    public List<String> projectionKeys() {
+        return switch (mode()) {
+            case EVENTS_BY_TAG -> GreetingTags.fromConfig(actorSystem.settings().config()).all();
+            case EVENTS_BY_SLICES -> SliceRange.split(sourceConfig().getInt("slices.workers"))
+                .stream()
+                .map(SliceRange::key)
+                .toList();
+        };
+    }
+
+    public SourceProvider<Offset, EventEnvelope<GreetingEvent>> sourceProvider(
+        String projectionKey
+    ) {
+        return switch (mode()) {
+            case EVENTS_BY_TAG -> EventSourcedProvider.eventsByTag(
+                actorSystem,
+                JdbcReadJournal.Identifier(),
+                projectionKey
+            );
+            case EVENTS_BY_SLICES -> new EventsBySliceSourceProvider<>(
+                actorSystem,
+                dataSource,
+                journalSequence(),
+                SliceRange.fromKey(projectionKey),
+                EventsBySliceSourceProvider.Settings.fromConfig(
+                    sourceConfig().getConfig("slices"),
+                    GreetingActorBehavior.ENTITY_TYPE_KEY.name()
+                )
+            );
+        };
+    }
+
+    private synchronized JournalSequence journalSequence() {
+        if (journalSequence == null) {
+            journalSequence = new JournalSequence(
+                actorSystem,
+                dataSource,
+                JournalSequence.Settings.fromConfig(sourceConfig().getConfig("slices"))
+            );
+        }
+        return journalSequence;
+    }
+
+    private Config sourceConfig() {
+        return actorSystem.settings().config().getConfig("greeting.projection.source");
+    }
+}
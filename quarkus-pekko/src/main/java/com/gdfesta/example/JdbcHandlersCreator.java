@@ -1,22 +1,30 @@
 package com.gdfesta.example;
 
+import com.gdfesta.example.kafka.GreetingsKafkaGroupedHandler;
 import com.gdfesta.example.kafka.GreetingsKafkaHandler;
 import com.gdfesta.example.kafka.producer.GreetingKafkaProducer;
+import com.gdfesta.example.metrics.ProjectionMetrics;
+import com.gdfesta.example.metrics.TimedHandler;
+import com.gdfesta.example.metrics.TimedJdbcHandler;
+import com.gdfesta.example.read_side.greetings_count.GreetingsCountGroupedReadSideHandler;
+import com.gdfesta.example.read_side.greetings_count.GreetingsCountQueryService;
 import com.gdfesta.example.read_side.greetings_count.GreetingsCountReadSideHandler;
 import com.gdfesta.example.read_side.greetings_count.GreetingsCountRepository;
-import com.gdfesta.example.write_side.greeting.aggregate.GreetingActorBehavior;
+import com.gdfesta.example.read_side.greetings_count.GreetingsLeaderboard;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingEvent;
 import com.gdfesta.quarkus.pekko.HibernateSessionFactory;
 import io.quarkus.runtime.StartupEvent;
 import jakarta.annotation.Priority;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
+import java.util.List;
 import org.apache.pekko.actor.typed.ActorSystem;
 import org.apache.pekko.cluster.sharding.typed.javadsl.ShardedDaemonProcess;
-import org.apache.pekko.persistence.jdbc.query.javadsl.JdbcReadJournal;
+import org.apache.pekko.projection.Projection;
 import org.apache.pekko.projection.ProjectionBehavior;
 import org.apache.pekko.projection.ProjectionId;
-import org.apache.pekko.projection.eventsourced.javadsl.EventSourcedProvider;
+import org.apache.pekko.projection.eventsourced.EventEnvelope;
 import org.apache.pekko.projection.jdbc.javadsl.JdbcProjection;
 import org.jboss.logging.Logger;
 
@@ -25,65 +33,174 @@ public class JdbcHandlersCreator {
 
     private static final Logger LOG = Logger.getLogger(JdbcHandlersCreator.class);
 
+    public static final String READ_SIDE_PROJECTION = "greetings-count-read-side-projection";
+    public static final String KAFKA_PROJECTION = "greetings-kafka-projection";
+    public static final List<String> PROJECTIONS = List.of(READ_SIDE_PROJECTION, KAFKA_PROJECTION);
+
     @Inject
     HibernateSessionFactory sessionProvider;
 
     @Inject
     GreetingsCountRepository greetingsCountRepository;
 
+    @Inject
+    GreetingsCountQueryService greetingsCountQueryService;
+
+    @Inject
+    GreetingsLeaderboard greetingsLeaderboard;
+
     @Inject
     GreetingKafkaProducer greetingKafkaProducer;
 
+    @Inject
+    GreetingSourceProviders sourceProviders;
+
     @Inject
     ActorSystem<Void> actorSystem;
 
+    @Inject
+    ProjectionMetrics projectionMetrics;
+
     void onStart(@Observes @Priority(1002) StartupEvent event) {
         LOG.info("Initializing JdbcHandlers...");
 
+        var projectionConfig = actorSystem.settings().config().getConfig("greeting.projection");
+        var readSideSettings = ProjectionSettings.fromConfig(
+            projectionConfig.getConfig("greetings-count-read-side")
+        );
+        // One projection instance per tag or slice range for each daemon process
+        var projectionKeys = sourceProviders.projectionKeys();
+        LOG.infof("Projections read %s with keys %s", sourceProviders.mode(), projectionKeys);
+
+        // Every Kafka projection instance can have a whole group in the emitter buffer at once
+        var configuredKafkaSettings = ProjectionSettings.fromConfig(
+            projectionConfig.getConfig("greetings-kafka")
+        );
+        var kafkaSettings = configuredKafkaSettings.fitInto(
+            GreetingKafkaProducer.BUFFER_SIZE,
+            projectionKeys.size()
+        );
+        if (!kafkaSettings.equals(configuredKafkaSettings)) {
+            LOG.warnf(
+                "Greetings Kafka groups of %d envelopes from %d projection instances would " +
+                "overflow the emitter buffer (%d): using groups of %d",
+                configuredKafkaSettings.groupAfterEnvelopes(),
+                projectionKeys.size(),
+                GreetingKafkaProducer.BUFFER_SIZE,
+                kafkaSettings.groupAfterEnvelopes()
+            );
+        }
+        if (projectionKeys.size() > GreetingKafkaProducer.BUFFER_SIZE) {
+            LOG.warnf(
+                "%d Greetings Kafka projection instances can each wait on a message, more than " +
+                "the emitter buffer (%d) holds: lower the number of tags or slice workers",
+                projectionKeys.size(),
+                GreetingKafkaProducer.BUFFER_SIZE
+            );
+        }
+        LOG.infof("Greetings count read-side projection settings: %s", readSideSettings);
+        LOG.infof("Greetings Kafka projection settings: %s", kafkaSettings);
+
         ShardedDaemonProcess.get(actorSystem).init(
             ProjectionBehavior.Command.class,
             "greetings-count-readside-daemon",
-            GreetingActorBehavior.tags.size(),
-            id -> {
-                var tag = GreetingActorBehavior.tags.get(id);
-                return ProjectionBehavior.create(
-                    JdbcProjection.exactlyOnce(
-                        ProjectionId.of("greetings-count-read-side-projection", tag),
-                        EventSourcedProvider.eventsByTag(
-                            actorSystem,
-                            JdbcReadJournal.Identifier(),
-                            tag
-                        ),
-                        sessionProvider::newInstance,
-                        () -> new GreetingsCountReadSideHandler(greetingsCountRepository),
-                        actorSystem
-                    )
-                );
-            },
+            projectionKeys.size(),
+            id ->
+                ProjectionBehavior.create(
+                    greetingsCountProjection(projectionKeys.get(id), readSideSettings)
+                ),
             ProjectionBehavior.stopMessage()
         );
 
         ShardedDaemonProcess.get(actorSystem).init(
             ProjectionBehavior.Command.class,
             "greetings-kafka-daemon",
-            GreetingActorBehavior.tags.size(),
-            id -> {
-                var tag = GreetingActorBehavior.tags.get(id);
-                return ProjectionBehavior.create(
-                    JdbcProjection.exactlyOnce(
-                        ProjectionId.of("greetings-kafka-projection", tag),
-                        EventSourcedProvider.eventsByTag(
-                            actorSystem,
-                            JdbcReadJournal.Identifier(),
-                            tag
-                        ),
-                        sessionProvider::newInstance,
-                        () -> new GreetingsKafkaHandler(greetingKafkaProducer),
-                        actorSystem
-                    )
-                );
-            },
+            projectionKeys.size(),
+            id ->
+                ProjectionBehavior.create(
+                    greetingsKafkaProjection(projectionKeys.get(id), kafkaSettings)
+                ),
             ProjectionBehavior.stopMessage()
         );
     }
+
+    private Projection<EventEnvelope<GreetingEvent>> greetingsCountProjection(
+        String projectionKey,
+        ProjectionSettings settings
+    ) {
+        var projectionId = ProjectionId.of(READ_SIDE_PROJECTION, projectionKey);
+        var handlerTimer = projectionMetrics.handlerTimer("greetings-count", projectionKey);
+        Projection<EventEnvelope<GreetingEvent>> projection = switch (settings.mode()) {
+            case EXACTLY_ONCE -> JdbcProjection.exactlyOnce(
+                projectionId,
+                sourceProviders.sourceProvider(projectionKey),
+                sessionProvider::newInstance,
+                () ->
+                    new TimedJdbcHandler<>(
+                        new GreetingsCountReadSideHandler(
+                            greetingsCountRepository,
+                            greetingsCountQueryService,
+                            greetingsLeaderboard
+                        ),
+                        handlerTimer
+                    ),
+                actorSystem
+            );
+            case GROUPED -> JdbcProjection.groupedWithin(
+                projectionId,
+                sourceProviders.sourceProvider(projectionKey),
+                sessionProvider::newInstance,
+                () ->
+                    new TimedJdbcHandler<>(
+                        new GreetingsCountGroupedReadSideHandler(
+                            greetingsCountRepository,
+                            greetingsCountQueryService,
+                            greetingsLeaderboard
+                        ),
+                        handlerTimer
+                    ),
+                actorSystem
+            ).withGroup(settings.groupAfterEnvelopes(), settings.groupAfterDuration());
+        };
+        return projection.withStatusObserver(
+            projectionMetrics.statusObserver("greetings-count", projectionKey)
+        );
+    }
+
+    private Projection<EventEnvelope<GreetingEvent>> greetingsKafkaProjection(
+        String projectionKey,
+        ProjectionSettings settings
+    ) {
+        var projectionId = ProjectionId.of(KAFKA_PROJECTION, projectionKey);
+        var handlerTimer = projectionMetrics.handlerTimer("greetings-kafka", projectionKey);
+        Projection<EventEnvelope<GreetingEvent>> projection = switch (settings.mode()) {
+            case EXACTLY_ONCE -> JdbcProjection.exactlyOnce(
+                projectionId,
+                sourceProviders.sourceProvider(projectionKey),
+                sessionProvider::newInstance,
+                () ->
+                    new TimedJdbcHandler<>(
+                        new GreetingsKafkaHandler(greetingKafkaProducer),
+                        handlerTimer
+                    ),
+                actorSystem
+            );
+            // The handler is asynchronous: no JDBC session or transaction is held while
+            // waiting for Kafka, the offset is stored afterwards (at-least-once).
+            case GROUPED -> JdbcProjection.groupedWithinAsync(
+                projectionId,
+                sourceProviders.sourceProvider(projectionKey),
+                sessionProvider::newInstance,
+                () ->
+                    new TimedHandler<>(
+                        new GreetingsKafkaGroupedHandler(greetingKafkaProducer),
+                        handlerTimer
+                    ),
+                actorSystem
+            ).withGroup(settings.groupAfterEnvelopes(), settings.groupAfterDuration());
+        };
+        return projection.withStatusObserver(
+            projectionMetrics.statusObserver("greetings-kafka", projectionKey)
+        );
+    }
 }
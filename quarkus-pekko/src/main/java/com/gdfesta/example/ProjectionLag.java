@@ -0,0 +1,16 @@
+package com.gdfesta.example;
+
+import java.time.Instant;
+
+// How far one projection instance is behind the journal: lag counts the events of its key after
+// offsetOrdering, headOrdering is the highest ordering of its key. offsetUpdatedAt is null
+// while the instance has not stored an offset yet.
+public record ProjectionLag(
+    String projection,
+    String key,
+    long lag,
+    long headOrdering,
+    long offsetOrdering,
+    Instant offsetUpdatedAt,
+    boolean paused
+) {}
@@ -0,0 +1,49 @@
+package com.gdfesta.example;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+// When enabled, not ready while a running projection instance has more than max-events
+// pending, as last read by ProjectionLagMonitor. Paused instances are reported but never fail
+// it. The lag is the same seen from every node, so all of them turn unready together: off by
+// default, the lag is only reported.
+@Readiness
+@ApplicationScoped
+public class ProjectionLagHealthCheck implements HealthCheck {
+
+    @Inject
+    ProjectionLagMonitor monitor;
+
+    @ConfigProperty(name = "greeting.projection-lag.readiness.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(
+        name = "greeting.projection-lag.readiness.max-events",
+        defaultValue = "100000"
+    )
+    long maxEvents;
+
+    @Override
+    public HealthCheckResponse call() {
+        var report = monitor.report();
+        var response = HealthCheckResponse.named("projection-lag").withData(
+            "max-events",
+            maxEvents
+        );
+        if (report.refreshedAt() != null) {
+            response.withData("refreshed-at", report.refreshedAt().toString());
+        }
+        boolean behind = false;
+        for (var lag : report.projections()) {
+            if (!lag.paused() && lag.lag() > maxEvents) {
+                response.withData(lag.projection() + "/" + lag.key(), lag.lag());
+                behind = true;
+            }
+        }
+        return response.status(!enabled || !behind).build();
+    }
+}
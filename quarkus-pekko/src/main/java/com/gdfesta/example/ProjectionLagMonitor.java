@@ -0,0 +1,270 @@
+package com.gdfesta.example;
+
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingActorBehavior;
+import com.gdfesta.quarkus.pekko.SliceRange;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.pekko.persistence.typed.PersistenceId;
+import org.apache.pekko.projection.ProjectionId;
+import org.jboss.logging.Logger;
+
+// Lag of every projection instance: the number of events of its tag or slice range after the
+// offset it stored, not the ordering distance, which also spans the events of every other key.
+// Read from the database on an interval, so GET /projections and the readiness check, which can
+// be polled often, never query it themselves.
+@ApplicationScoped
+public class ProjectionLagMonitor {
+
+    private static final Logger LOG = Logger.getLogger(ProjectionLagMonitor.class);
+
+    // One probe of event_tag_tag_idx per tag
+    private static final String HEAD_BY_TAG_SQL = """
+        SELECT t.key, (SELECT max(event_id) FROM event_tag WHERE tag = t.key)
+        FROM unnest(?::varchar[]) AS t(key)
+        """;
+
+    // One backward probe of event_journal_slice_idx per slice of the range
+    private static final String HEAD_BY_SLICES_SQL = """
+        SELECT r.key,
+               (SELECT max(h.ordering)
+                FROM generate_series(r.lo, r.hi) AS s(slice)
+                CROSS JOIN LATERAL (
+                    SELECT max(ordering) AS ordering
+                    FROM event_journal
+                    WHERE persistence_id_slice(persistence_id) = s.slice
+                      AND starts_with(persistence_id, ?)
+                ) h)
+        FROM unnest(?::varchar[], ?::integer[], ?::integer[]) AS r(key, lo, hi)
+        """;
+
+    // Events after each stored offset: an index range scan per tag, or per slice of the range,
+    // so the cost grows with the lag itself rather than with the journal
+    private static final String PENDING_BY_TAG_SQL = """
+        SELECT r.projection, r.key,
+               (SELECT count(*) FROM event_tag WHERE tag = r.key AND event_id > r.after)
+        FROM unnest(?::varchar[], ?::varchar[], ?::bigint[]) AS r(projection, key, after)
+        """;
+
+    private static final String PENDING_BY_SLICES_SQL = """
+        SELECT r.projection, r.key,
+               (SELECT sum(p.pending)
+                FROM generate_series(r.lo, r.hi) AS s(slice)
+                CROSS JOIN LATERAL (
+                    SELECT count(*) AS pending
+                    FROM event_journal
+                    WHERE persistence_id_slice(persistence_id) = s.slice
+                      AND ordering > r.after
+                      AND starts_with(persistence_id, ?)
+                ) p)
+        FROM unnest(?::varchar[], ?::varchar[], ?::bigint[], ?::integer[], ?::integer[])
+            AS r(projection, key, after, lo, hi)
+        """;
+
+    private static final String OFFSETS_SQL = """
+        SELECT projection_name, projection_key, current_offset, last_updated
+        FROM pekko_projection_offset_store
+        WHERE projection_name = ANY(?::varchar[]) AND manifest = 'SEQ'
+        """;
+
+    private static final String PAUSED_SQL = """
+        SELECT projection_name, projection_key
+        FROM pekko_projection_management
+        WHERE projection_name = ANY(?::varchar[]) AND paused
+        """;
+
+    private record StoredOffset(long ordering, Instant updatedAt) {}
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    GreetingSourceProviders sourceProviders;
+
+    private volatile ProjectionLagReport report = ProjectionLagReport.NOT_REFRESHED;
+
+    public ProjectionLagReport report() {
+        return report;
+    }
+
+    @Scheduled(
+        every = "${greeting.projection-lag.refresh-interval:10s}",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    void refresh() {
+        try {
+            report = read();
+        } catch (SQLException e) {
+            // The previous report stays, its refreshedAt tells how old it is
+            LOG.warn("Failed to refresh the projection lag", e);
+        }
+    }
+
+    private ProjectionLagReport read() throws SQLException {
+        var keys = sourceProviders.projectionKeys();
+        var projections = JdbcHandlersCreator.PROJECTIONS.toArray(String[]::new);
+        try (var connection = dataSource.getConnection()) {
+            var heads = heads(connection, keys);
+            var offsets = offsets(connection, projections);
+            var pending = pending(connection, projections, keys, offsets);
+            var paused = paused(connection, projections);
+            var lags = new ArrayList<ProjectionLag>(projections.length * keys.size());
+            for (var projection : projections) {
+                for (var key : keys) {
+                    var id = ProjectionId.of(projection, key);
+                    long head = heads.getOrDefault(key, 0L);
+                    var offset = offsets.get(id);
+                    long offsetOrdering = offset == null ? 0 : offset.ordering();
+                    lags.add(
+                        new ProjectionLag(
+                            projection,
+                            key,
+                            pending.getOrDefault(id, 0L),
+                            head,
+                            offsetOrdering,
+                            offset == null ? null : offset.updatedAt(),
+                            paused.contains(id)
+                        )
+                    );
+                }
+            }
+            return new ProjectionLagReport(Instant.now(), List.copyOf(lags));
+        }
+    }
+
+    private Map<String, Long> heads(Connection connection, List<String> keys)
+        throws SQLException {
+        var sql = switch (sourceProviders.mode()) {
+            case EVENTS_BY_TAG -> HEAD_BY_TAG_SQL;
+            case EVENTS_BY_SLICES -> HEAD_BY_SLICES_SQL;
+        };
+        try (var statement = connection.prepareStatement(sql)) {
+            var keyArray = connection.createArrayOf("varchar", keys.toArray());
+            if (sourceProviders.mode() == GreetingSourceProviders.Mode.EVENTS_BY_SLICES) {
+                var ranges = keys.stream().map(SliceRange::fromKey).toList();
+                var mins = ranges.stream().map(SliceRange::min).toArray();
+                var maxs = ranges.stream().map(SliceRange::max).toArray();
+                statement.setString(
+                    1,
+                    GreetingActorBehavior.ENTITY_TYPE_KEY.name() + PersistenceId.DefaultSeparator()
+                );
+                statement.setArray(2, keyArray);
+                statement.setArray(3, connection.createArrayOf("integer", mins));
+                statement.setArray(4, connection.createArrayOf("integer", maxs));
+            } else {
+                statement.setArray(1, keyArray);
+            }
+            try (var rows = statement.executeQuery()) {
+                var heads = new HashMap<String, Long>();
+                while (rows.next()) {
+                    // max() is null for a key without any event yet
+                    heads.put(rows.getString(1), rows.getLong(2));
+                }
+                return heads;
+            }
+        }
+    }
+
+    private Map<ProjectionId, Long> pending(
+        Connection connection,
+        String[] projections,
+        List<String> keys,
+        Map<ProjectionId, StoredOffset> offsets
+    ) throws SQLException {
+        var names = new ArrayList<String>();
+        var instanceKeys = new ArrayList<String>();
+        var afters = new ArrayList<Long>();
+        for (var projection : projections) {
+            for (var key : keys) {
+                var offset = offsets.get(ProjectionId.of(projection, key));
+                names.add(projection);
+                instanceKeys.add(key);
+                afters.add(offset == null ? 0 : offset.ordering());
+            }
+        }
+        boolean slices = sourceProviders.mode() == GreetingSourceProviders.Mode.EVENTS_BY_SLICES;
+        try (
+            var statement = connection.prepareStatement(
+                slices ? PENDING_BY_SLICES_SQL : PENDING_BY_TAG_SQL
+            )
+        ) {
+            int index = 1;
+            if (slices) {
+                statement.setString(
+                    index++,
+                    GreetingActorBehavior.ENTITY_TYPE_KEY.name() + PersistenceId.DefaultSeparator()
+                );
+            }
+            statement.setArray(index++, connection.createArrayOf("varchar", names.toArray()));
+            statement.setArray(
+                index++,
+                connection.createArrayOf("varchar", instanceKeys.toArray())
+            );
+            statement.setArray(index++, connection.createArrayOf("bigint", afters.toArray()));
+            if (slices) {
+                var ranges = instanceKeys.stream().map(SliceRange::fromKey).toList();
+                var mins = ranges.stream().map(SliceRange::min).toArray();
+                var maxs = ranges.stream().map(SliceRange::max).toArray();
+                statement.setArray(index++, connection.createArrayOf("integer", mins));
+                statement.setArray(index, connection.createArrayOf("integer", maxs));
+            }
+            try (var rows = statement.executeQuery()) {
+                var pending = new HashMap<ProjectionId, Long>();
+                while (rows.next()) {
+                    // sum() is null for a slice range without any event yet
+                    pending.put(
+                        ProjectionId.of(rows.getString(1), rows.getString(2)),
+                        rows.getLong(3)
+                    );
+                }
+                return pending;
+            }
+        }
+    }
+
+    private static Map<ProjectionId, StoredOffset> offsets(
+        Connection connection,
+        String[] projections
+    ) throws SQLException {
+        try (var statement = connection.prepareStatement(OFFSETS_SQL)) {
+            statement.setArray(1, connection.createArrayOf("varchar", projections));
+            try (var rows = statement.executeQuery()) {
+                var offsets = new HashMap<ProjectionId, StoredOffset>();
+                while (rows.next()) {
+                    offsets.put(
+                        ProjectionId.of(rows.getString(1), rows.getString(2)),
+                        new StoredOffset(
+                            Long.parseLong(rows.getString(3)),
+                            Instant.ofEpochMilli(rows.getLong(4))
+                        )
+                    );
+                }
+                return offsets;
+            }
+        }
+    }
+
+    private static Set<ProjectionId> paused(Connection connection, String[] projections)
+        throws SQLException {
+        try (var statement = connection.prepareStatement(PAUSED_SQL)) {
+            statement.setArray(1, connection.createArrayOf("varchar", projections));
+            try (var rows = statement.executeQuery()) {
+                var paused = new HashSet<ProjectionId>();
+                while (rows.next()) {
+                    paused.add(ProjectionId.of(rows.getString(1), rows.getString(2)));
+                }
+                return paused;
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.gdfesta.example;
+
+import java.time.Instant;
+import java.util.List;
+
+// refreshedAt is null until the first refresh completed
+public record ProjectionLagReport(Instant refreshedAt, List<ProjectionLag> projections) {
+    static final ProjectionLagReport NOT_REFRESHED = new ProjectionLagReport(null, List.of());
+}
@@ -0,0 +1,28 @@
+package com.gdfesta.example;
+
+import com.typesafe.config.Config;
+import java.time.Duration;
+import java.util.Locale;
+
+public record ProjectionSettings(Mode mode, int groupAfterEnvelopes, Duration groupAfterDuration) {
+    public enum Mode {
+        EXACTLY_ONCE,
+        GROUPED,
+    }
+
+    public static ProjectionSettings fromConfig(Config config) {
+        return new ProjectionSettings(
+            Mode.valueOf(config.getString("mode").replace('-', '_').toUpperCase(Locale.ROOT)),
+            config.getInt("group-after-envelopes"),
+            config.getDuration("group-after-duration")
+        );
+    }
+
+    // Caps the group size so that instances each holding a whole group stay within bufferSize
+    public ProjectionSettings fitInto(int bufferSize, int instances) {
+        int maxGroup = Math.max(1, bufferSize / instances);
+        return groupAfterEnvelopes <= maxGroup
+            ? this
+            : new ProjectionSettings(mode, maxGroup, groupAfterDuration);
+    }
+}
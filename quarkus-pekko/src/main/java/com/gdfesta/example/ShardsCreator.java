@@ -1,11 +1,17 @@
 package com.gdfesta.example;
 
+import com.gdfesta.example.metrics.GreetingRecoveryMetrics;
 import com.gdfesta.example.write_side.greeting.aggregate.GreetingActorBehavior;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingCommandBatcher;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingTags;
+import com.gdfesta.example.write_side.greeting.aggregate.SnapshotSettings;
 import io.quarkus.runtime.StartupEvent;
 import jakarta.annotation.Priority;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
+import org.apache.pekko.actor.typed.ActorSystem;
+import org.apache.pekko.actor.typed.MailboxSelector;
 import org.apache.pekko.cluster.sharding.typed.javadsl.ClusterSharding;
 import org.apache.pekko.cluster.sharding.typed.javadsl.Entity;
 import org.jboss.logging.Logger;
@@ -18,12 +24,50 @@ public class ShardsCreator {
     @Inject
     ClusterSharding sharding;
 
+    @Inject
+    ActorSystem<Void> actorSystem;
+
+    @Inject
+    GreetingRecoveryMetrics recoveryMetrics;
+
     void onStart(@Observes @Priority(1002) StartupEvent event) {
         LOG.info("Initializing Shards...");
 
+        var tags = GreetingTags.fromConfig(actorSystem.settings().config());
+        LOG.infof("Tagging greeting events with %d tag slices", tags.count());
+
+        var snapshots = SnapshotSettings.fromConfig(actorSystem.settings().config());
+        LOG.infof("Greeting snapshot settings: %s", snapshots);
+
+        var batching = actorSystem
+            .settings()
+            .config()
+            .getConfig("greeting.aggregate.command-batching");
+        var batchingEnabled = batching.getBoolean("enabled");
+        var maxBatchSize = batching.getInt("max-batch-size");
+        LOG.infof(
+            "Greeting command batching enabled: %s (max batch size %d)",
+            batchingEnabled,
+            maxBatchSize
+        );
+
         // Initialize the sharding for GreetingActor
         sharding.init(
-            Entity.of(GreetingActorBehavior.ENTITY_TYPE_KEY, GreetingActorBehavior::create)
+            Entity.of(GreetingActorBehavior.ENTITY_TYPE_KEY, entityContext -> {
+                var aggregate = GreetingActorBehavior.create(
+                    entityContext,
+                    tags,
+                    snapshots,
+                    recoveryMetrics
+                );
+                return batchingEnabled
+                    ? GreetingCommandBatcher.create(aggregate, maxBatchSize)
+                    : aggregate;
+            }).withEntityProps(
+                MailboxSelector.fromConfig("greeting.aggregate.mailbox").withDispatcherFromConfig(
+                    "greeting.dispatchers.entity"
+                )
+            )
         );
     }
 }
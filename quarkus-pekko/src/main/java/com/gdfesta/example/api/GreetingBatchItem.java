@@ -0,0 +1,5 @@
+package com.gdfesta.example.api;
+
+// commandId is optional and plays the role of the Idempotency-Key header of the single
+// operation endpoints
+public record GreetingBatchItem(String name, GreetingOperation op, String commandId) {}
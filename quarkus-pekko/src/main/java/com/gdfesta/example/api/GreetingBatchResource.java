@@ -0,0 +1,105 @@
+package com.gdfesta.example.api;
+
+import com.gdfesta.example.write_side.greeting.services.GreetingService;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+
+@Path("/greetings:batch")
+public class GreetingBatchResource {
+
+    @Inject
+    GreetingService greetingService;
+
+    @ConfigProperty(name = "greeting.batch.max-size", defaultValue = "1000")
+    int maxSize;
+
+    @ConfigProperty(name = "greeting.batch.concurrency", defaultValue = "64")
+    int concurrency;
+
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Uni<List<GreetingBatchResult>> apply(List<GreetingBatchItem> items) {
+        return execute(items)
+            .collect()
+            .asList()
+            .map(results -> {
+                results.sort(Comparator.comparingInt(GreetingBatchResult::index));
+                return results;
+            });
+    }
+
+    // Results are streamed one JSON object per line as soon as they complete, in completion
+    // order: clients match them to their request with the index
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces("application/x-ndjson")
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    public Multi<GreetingBatchResult> stream(List<GreetingBatchItem> items) {
+        return execute(items);
+    }
+
+    private Multi<GreetingBatchResult> execute(List<GreetingBatchItem> items) {
+        validate(items);
+
+        // Operations on the same name run one after the other, in request order, so they
+        // reach the entity in that order; different names run concurrently
+        var indicesByName = new LinkedHashMap<String, List<Integer>>();
+        for (int i = 0; i < items.size(); i++) {
+            indicesByName.computeIfAbsent(items.get(i).name(), name -> new ArrayList<>()).add(i);
+        }
+
+        return Multi.createFrom()
+            .iterable(indicesByName.values())
+            .onItem()
+            .transformToMulti(indices ->
+                Multi.createFrom()
+                    .iterable(indices)
+                    .onItem()
+                    .transformToUniAndConcatenate(index -> apply(index, items.get(index)))
+            )
+            .merge(concurrency);
+    }
+
+    private Uni<GreetingBatchResult> apply(int index, GreetingBatchItem item) {
+        var state = switch (item.op()) {
+            case GREET -> greetingService.greet(item.name(), item.commandId());
+            case UNGREET -> greetingService.ungreet(item.name(), item.commandId());
+            case GET -> greetingService.get(item.name());
+        };
+        return state
+            .map(s -> GreetingBatchResult.success(index, item, GreetingResponse.from(s)))
+            .onFailure()
+            .recoverWithItem(failure -> GreetingBatchResult.failure(index, item, failure));
+    }
+
+    private void validate(List<GreetingBatchItem> items) {
+        if (items == null) {
+            throw new BadRequestException("A list of operations is required");
+        }
+        if (items.size() > maxSize) {
+            throw new BadRequestException(
+                "A batch holds at most " + maxSize + " operations, got " + items.size()
+            );
+        }
+        for (var item : items) {
+            if (item == null || item.name() == null || item.name().isBlank() || item.op() == null) {
+                throw new BadRequestException("Every operation needs a name and an op");
+            }
+            IdempotencyKeys.validated(item.commandId());
+        }
+    }
+}
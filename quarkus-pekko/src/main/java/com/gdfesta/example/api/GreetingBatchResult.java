@@ -0,0 +1,39 @@
+package com.gdfesta.example.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GreetingBatchResult(
+    int index,
+    String name,
+    GreetingOperation op,
+    String status,
+    Integer count,
+    String error
+) {
+    public static GreetingBatchResult success(
+        int index,
+        GreetingBatchItem item,
+        GreetingResponse response
+    ) {
+        return new GreetingBatchResult(
+            index,
+            item.name(),
+            item.op(),
+            response.status(),
+            response.count(),
+            null
+        );
+    }
+
+    public static GreetingBatchResult failure(int index, GreetingBatchItem item, Throwable error) {
+        return new GreetingBatchResult(
+            index,
+            item.name(),
+            item.op(),
+            null,
+            null,
+            String.valueOf(error.getMessage())
+        );
+    }
+}
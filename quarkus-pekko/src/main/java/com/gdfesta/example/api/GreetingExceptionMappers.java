@@ -0,0 +1,22 @@
+package com.gdfesta.example.api;
+
+import com.gdfesta.example.write_side.greeting.services.EntityOverloadedException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import org.jboss.resteasy.reactive.RestResponse;
+import org.jboss.resteasy.reactive.server.ServerExceptionMapper;
+
+public class GreetingExceptionMappers {
+
+    // Rejected before reaching the entity: the client can retry after a short pause
+    @ServerExceptionMapper
+    public RestResponse<String> overloaded(EntityOverloadedException e) {
+        return RestResponse.ResponseBuilder.create(
+            RestResponse.Status.TOO_MANY_REQUESTS,
+            e.getMessage()
+        )
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .type(MediaType.TEXT_PLAIN_TYPE)
+            .build();
+    }
+}
@@ -0,0 +1,7 @@
+package com.gdfesta.example.api;
+
+public enum GreetingOperation {
+    GREET,
+    UNGREET,
+    GET,
+}
@@ -0,0 +1,16 @@
+package com.gdfesta.example.api;
+
+import java.util.Locale;
+
+public enum GreetingQuerySource {
+    // Asks the sharded entity: always up to date, but wakes (and possibly recovers) it
+    ENTITY,
+    // Reads the greetings_count read model through a cache: trails the entity by the
+    // projection lag, never touches the write side
+    READ_MODEL;
+
+    // Accepts "read-model" as well as "READ_MODEL" in query parameters
+    public static GreetingQuerySource fromString(String value) {
+        return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
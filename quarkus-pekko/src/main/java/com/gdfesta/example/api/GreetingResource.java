@@ -1,15 +1,23 @@
 package com.gdfesta.example.api;
 
+import com.gdfesta.example.read_side.greetings_count.GreetingsCountPage;
+import com.gdfesta.example.read_side.greetings_count.GreetingsCountQueryService;
+import com.gdfesta.example.read_side.greetings_count.GreetingsCountSort;
 import com.gdfesta.example.write_side.greeting.services.GreetingService;
 import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 @Path("/greetings")
 public class GreetingResource {
@@ -17,30 +25,68 @@ public class GreetingResource {
     @Inject
     GreetingService greetingService;
 
+    @Inject
+    GreetingsCountQueryService greetingsCountQueryService;
+
+    @ConfigProperty(name = "greeting.query.default-source", defaultValue = "entity")
+    GreetingQuerySource defaultQuerySource;
+
+    @ConfigProperty(name = "greeting.query.max-page-size", defaultValue = "100")
+    int maxPageSize;
+
+    // Blocking: runs on a worker thread. after is the next token of the previous page.
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public GreetingsCountPage list(
+        @QueryParam("sort") @DefaultValue("name") GreetingsCountSort sort,
+        @QueryParam("limit") @DefaultValue("20") int limit,
+        @QueryParam("after") String after
+    ) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new BadRequestException("limit must be between 1 and " + maxPageSize);
+        }
+        try {
+            return greetingsCountQueryService.list(sort, after, limit);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
     @POST
     @Path("/{name}")
     @Produces(MediaType.APPLICATION_JSON)
-    public Uni<GreetingResponse> greet(@PathParam("name") String name) {
+    public Uni<GreetingResponse> greet(
+        @PathParam("name") String name,
+        @HeaderParam(IdempotencyKeys.HEADER) String idempotencyKey
+    ) {
         return greetingService
-            .greet(name)
-            .map(state -> new GreetingResponse(state.getClass().getSimpleName(), state.count()));
+            .greet(name, IdempotencyKeys.validated(idempotencyKey))
+            .map(GreetingResponse::from);
     }
 
     @DELETE
     @Path("/{name}")
     @Produces(MediaType.APPLICATION_JSON)
-    public Uni<GreetingResponse> unGreet(@PathParam("name") String name) {
+    public Uni<GreetingResponse> unGreet(
+        @PathParam("name") String name,
+        @HeaderParam(IdempotencyKeys.HEADER) String idempotencyKey
+    ) {
         return greetingService
-            .ungreet(name)
-            .map(state -> new GreetingResponse(state.getClass().getSimpleName(), state.count()));
+            .ungreet(name, IdempotencyKeys.validated(idempotencyKey))
+            .map(GreetingResponse::from);
     }
 
     @GET
     @Path("/{name}")
     @Produces(MediaType.APPLICATION_JSON)
-    public Uni<GreetingResponse> getCount(@PathParam("name") String name) {
-        return greetingService
-            .get(name)
-            .map(state -> new GreetingResponse(state.getClass().getSimpleName(), state.count()));
+    public Uni<GreetingResponse> getCount(
+        @PathParam("name") String name,
+        @QueryParam("source") GreetingQuerySource source
+    ) {
+        var state = switch (source != null ? source : defaultQuerySource) {
+            case ENTITY -> greetingService.get(name);
+            case READ_MODEL -> greetingsCountQueryService.get(name);
+        };
+        return state.map(GreetingResponse::from);
     }
 }
@@ -1,3 +1,9 @@
 package com.gdfesta.example.api;
 
-public record GreetingResponse(String status, Integer count) {}
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingState;
+
+public record GreetingResponse(String status, Integer count) {
+    public static GreetingResponse from(GreetingState state) {
+        return new GreetingResponse(state.getClass().getSimpleName(), state.count());
+    }
+}
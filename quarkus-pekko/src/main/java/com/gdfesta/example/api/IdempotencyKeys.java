@@ -0,0 +1,26 @@
+package com.gdfesta.example.api;
+
+import com.gdfesta.example.write_side.greeting.aggregate.RecentCommandIds;
+import jakarta.ws.rs.BadRequestException;
+
+final class IdempotencyKeys {
+
+    static final String HEADER = "Idempotency-Key";
+
+    private IdempotencyKeys() {}
+
+    static String validated(String key) {
+        if (key == null) {
+            return null;
+        }
+        if (!RecentCommandIds.isValidId(key)) {
+            throw new BadRequestException(
+                HEADER +
+                " must be a non blank string of at most " +
+                RecentCommandIds.MAX_ID_LENGTH +
+                " characters"
+            );
+        }
+        return key;
+    }
+}
@@ -0,0 +1,68 @@
+package com.gdfesta.example.api;
+
+import com.gdfesta.example.GreetingSourceProviders;
+import com.gdfesta.example.JdbcHandlersCreator;
+import com.gdfesta.example.ProjectionLagMonitor;
+import com.gdfesta.example.ProjectionLagReport;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import org.apache.pekko.actor.typed.ActorSystem;
+import org.apache.pekko.projection.ProjectionId;
+import org.apache.pekko.projection.javadsl.ProjectionManagement;
+
+@Path("/projections")
+public class ProjectionResource {
+
+    @Inject
+    ProjectionLagMonitor lagMonitor;
+
+    @Inject
+    GreetingSourceProviders sourceProviders;
+
+    @Inject
+    ActorSystem<Void> actorSystem;
+
+    // Lag of every projection instance as of the last refresh, not of this request
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public ProjectionLagReport lag() {
+        return lagMonitor.report();
+    }
+
+    // The paused flag is stored in pekko_projection_management and the running instance is
+    // restarted so it takes effect; it stays paused across restarts until resumed
+    @POST
+    @Path("/{name}/{key}/pause")
+    public Uni<Void> pause(@PathParam("name") String name, @PathParam("key") String key) {
+        var id = projectionId(name, key);
+        return Uni.createFrom()
+            .completionStage(() -> ProjectionManagement.get(actorSystem).pause(id))
+            .replaceWithVoid();
+    }
+
+    @POST
+    @Path("/{name}/{key}/resume")
+    public Uni<Void> resume(@PathParam("name") String name, @PathParam("key") String key) {
+        var id = projectionId(name, key);
+        return Uni.createFrom()
+            .completionStage(() -> ProjectionManagement.get(actorSystem).resume(id))
+            .replaceWithVoid();
+    }
+
+    private ProjectionId projectionId(String name, String key) {
+        if (
+            !JdbcHandlersCreator.PROJECTIONS.contains(name) ||
+            !sourceProviders.projectionKeys().contains(key)
+        ) {
+            throw new NotFoundException("Unknown projection " + name + "/" + key);
+        }
+        return ProjectionId.of(name, key);
+    }
+}
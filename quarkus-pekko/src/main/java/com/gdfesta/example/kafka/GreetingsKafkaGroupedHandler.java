@@ -0,0 +1,41 @@
+package com.gdfesta.example.kafka;
+
+import com.gdfesta.example.kafka.producer.GreetingKafkaProducer;
+import com.gdfesta.example.kafka.producer.model.GreetingKafkaMessage.Greeted;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.apache.pekko.Done;
+import org.apache.pekko.projection.eventsourced.EventEnvelope;
+import org.apache.pekko.projection.javadsl.Handler;
+
+public class GreetingsKafkaGroupedHandler extends Handler<List<EventEnvelope<GreetingEvent>>> {
+
+    private final GreetingKafkaProducer producer;
+
+    public GreetingsKafkaGroupedHandler(GreetingKafkaProducer producer) {
+        this.producer = producer;
+    }
+
+    @Override
+    public CompletionStage<Done> process(List<EventEnvelope<GreetingEvent>> envelopes) {
+        // All sends are issued in envelope order without waiting for each other; the group
+        // (and so its offset) only completes once Kafka acknowledged every message.
+        var publications = new ArrayList<CompletableFuture<Void>>(envelopes.size());
+        for (var envelope : envelopes) {
+            switch (envelope.event()) {
+                case GreetingEvent.Greeted e -> publications.add(
+                    producer.publish(new Greeted(e.name())).toCompletableFuture()
+                );
+                default -> {
+                    // No action
+                }
+            }
+        }
+        return CompletableFuture.allOf(publications.toArray(CompletableFuture[]::new)).thenApply(
+            ignored -> Done.getInstance()
+        );
+    }
+}
@@ -0,0 +1,93 @@
+package com.gdfesta.example.kafka.consumer;
+
+import com.gdfesta.example.kafka.consumer.model.GreetingCommandMessage;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingCommand.Operation;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingState;
+import com.gdfesta.example.write_side.greeting.services.GreetingService;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+
+// Replaces GreetingCommandConsumer when greeting.command-consumer.batch is set at build time.
+// Receives the records of one poll at once and sends every name a single ApplyAll with its
+// operations in offset order: one ask and one journal write per name instead of per record.
+@Slf4j
+@ApplicationScoped
+@IfBuildProperty(name = "greeting.command-consumer.batch", stringValue = "true")
+public class GreetingCommandBatchConsumer {
+
+    // The operations of one name in offset order, with their command ids when any record had one
+    record NameCommands(List<Operation> operations, List<String> commandIds) {
+        List<String> commandIdsIfAny() {
+            return commandIds.stream().allMatch(Objects::isNull) ? List.of() : commandIds;
+        }
+    }
+
+    @Inject
+    GreetingService greetingService;
+
+    @Inject
+    OverloadRetry overloadRetry;
+
+    // The whole poll is acked once every name was applied, and nacked if an ask failed (timeout,
+    // overload): rejected operations are part of the applied outcome, not failures
+    @Incoming("greeting-commands-batch")
+    public CompletionStage<Void> consume(List<GreetingCommandMessage> commands) {
+        var commandsByName = groupByName(commands);
+        log.info("Received {} commands for {} names", commands.size(), commandsByName.size());
+
+        var applied = new ArrayList<Uni<GreetingState>>(commandsByName.size());
+        commandsByName.forEach((name, grouped) ->
+            applied.add(
+                overloadRetry
+                    .withRetry(() ->
+                        greetingService.applyAll(
+                            name,
+                            grouped.operations(),
+                            grouped.commandIdsIfAny()
+                        )
+                    )
+                    .onFailure()
+                    .invoke(failure -> log.error("Failed to apply commands for {}", name, failure))
+            )
+        );
+        if (applied.isEmpty()) {
+            return Uni.createFrom().voidItem().subscribeAsCompletionStage();
+        }
+        return Uni.join()
+            .all(applied)
+            .andCollectFailures()
+            .replaceWithVoid()
+            .subscribeAsCompletionStage();
+    }
+
+    static Map<String, NameCommands> groupByName(List<GreetingCommandMessage> commands) {
+        Map<String, NameCommands> commandsByName = new LinkedHashMap<>();
+        for (var command : commands) {
+            // Acked with the poll without being applied: redelivering it would not fix it
+            if (!command.hasValidCommandId()) {
+                log.error("Dropping command with an invalid commandId: {}", command);
+                continue;
+            }
+            var operation = switch (command) {
+                case GreetingCommandMessage.GreetCommand ignored -> Operation.GREET;
+                case GreetingCommandMessage.UnGreetCommand ignored -> Operation.UNGREET;
+            };
+            var grouped = commandsByName.computeIfAbsent(command.name(), name ->
+                new NameCommands(new ArrayList<>(), new ArrayList<>())
+            );
+            grouped.operations().add(operation);
+            grouped.commandIds().add(command.commandId());
+        }
+        return commandsByName;
+    }
+}
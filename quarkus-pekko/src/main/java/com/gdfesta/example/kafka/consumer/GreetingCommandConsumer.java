@@ -2,33 +2,86 @@ package com.gdfesta.example.kafka.consumer;
 
 import com.gdfesta.example.kafka.consumer.model.GreetingCommandMessage;
 import com.gdfesta.example.write_side.greeting.services.GreetingService;
+import io.quarkus.arc.properties.UnlessBuildProperty;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.concurrent.CompletionStage;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.eclipse.microprofile.reactive.messaging.Message;
 
 @Slf4j
 @ApplicationScoped
+@UnlessBuildProperty(
+    name = "greeting.command-consumer.batch",
+    stringValue = "true",
+    enableIfMissing = true
+)
 public class GreetingCommandConsumer {
 
+    public enum Mode {
+        // One record at a time: the next one is delivered once the previous was applied
+        SEQUENTIAL,
+        // Up to max-in-flight records at a time, records of the same name in offset order
+        KEY_ORDERED,
+    }
+
     @Inject
     GreetingService greetingService;
 
+    @Inject
+    OverloadRetry overloadRetry;
+
+    @ConfigProperty(name = "greeting.command-consumer.mode", defaultValue = "sequential")
+    Mode mode;
+
+    @ConfigProperty(name = "greeting.command-consumer.max-in-flight", defaultValue = "256")
+    int maxInFlight;
+
+    private KeyOrderedDispatcher dispatcher;
+
+    @PostConstruct
+    void init() {
+        dispatcher = new KeyOrderedDispatcher(maxInFlight);
+    }
+
+    // Records are acked once applied and nacked when they fail. The commit strategy only
+    // commits an offset once every record before it was acked, so with KEY_ORDERED the
+    // committed offset stays below the oldest record still in flight.
     @Incoming("greeting-commands")
-    public CompletionStage<Void> consume(GreetingCommandMessage command) {
+    public CompletionStage<Void> consume(Message<GreetingCommandMessage> message) {
+        var command = message.getPayload();
         log.info("Received command: {}", command);
 
-        return switch (command) {
+        return switch (mode) {
+            case SEQUENTIAL -> process(message);
+            // Completes as soon as the dispatcher can take another record, so the connector
+            // delivers the next one while this one is processed
+            case KEY_ORDERED -> dispatcher.dispatch(command.name(), () -> process(message));
+        };
+    }
+
+    private CompletionStage<Void> process(Message<GreetingCommandMessage> message) {
+        // Redelivering it would not fix it: the record is acked without being applied
+        if (!message.getPayload().hasValidCommandId()) {
+            log.error("Dropping command with an invalid commandId: {}", message.getPayload());
+            return message.ack();
+        }
+        var processed = switch (message.getPayload()) {
             case GreetingCommandMessage.GreetCommand greet -> processGreet(greet);
             case GreetingCommandMessage.UnGreetCommand unGreet -> processUnGreet(unGreet);
         };
+        return processed
+            .handle((ignored, failure) -> failure == null ? message.ack() : message.nack(failure))
+            .thenCompose(acknowledgement -> acknowledgement);
     }
 
     private CompletionStage<Void> processGreet(GreetingCommandMessage.GreetCommand command) {
         log.info("Processing Greet command for: {}", command.name());
-        return greetingService
-            .greet(command.name())
+        return overloadRetry
+            .withRetry(() -> greetingService.greet(command.name(), command.commandId()))
             .invoke(state -> log.info("Greet successful for {}: {}", command.name(), state))
             .onFailure()
             .invoke(failure -> log.error("Failed to greet {}", command.name(), failure))
@@ -38,8 +91,8 @@ public class GreetingCommandConsumer {
 
     private CompletionStage<Void> processUnGreet(GreetingCommandMessage.UnGreetCommand command) {
         log.info("Processing UnGreet command for: {}", command.name());
-        return greetingService
-            .ungreet(command.name())
+        return overloadRetry
+            .withRetry(() -> greetingService.ungreet(command.name(), command.commandId()))
             .invoke(state -> log.info("UnGreet successful for {}: {}", command.name(), state))
             .onFailure()
             .invoke(failure -> log.error("Failed to ungreet {}", command.name(), failure))
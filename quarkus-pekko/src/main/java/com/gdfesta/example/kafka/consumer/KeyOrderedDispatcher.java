@@ -0,0 +1,82 @@
+package com.gdfesta.example.kafka.consumer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+// Runs tasks concurrently across keys and one after the other within a key, in dispatch
+// order. Each key has a tail: the completion of its last dispatched task, which the next task
+// of the key waits for. A key with nothing in flight has no entry.
+class KeyOrderedDispatcher {
+
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    private final int maxInFlight;
+
+    // Guarded by this
+    private final Map<String, CompletableFuture<Void>> tails = new HashMap<>();
+    private int inFlight;
+    private CompletableFuture<Void> admission = DONE;
+
+    KeyOrderedDispatcher(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException(
+                "Max in-flight tasks must be at least 1, was " + maxInFlight
+            );
+        }
+        this.maxInFlight = maxInFlight;
+    }
+
+    // The task runs once every earlier task of the same key completed, successfully or not.
+    // The returned stage completes when another task may be dispatched: a caller waiting on it
+    // never has more than maxInFlight tasks dispatched and unfinished.
+    CompletionStage<Void> dispatch(String key, Supplier<? extends CompletionStage<?>> task) {
+        var tail = new CompletableFuture<Void>();
+        CompletableFuture<Void> previous;
+        CompletableFuture<Void> admitted;
+        synchronized (this) {
+            previous = tails.put(key, tail);
+            inFlight++;
+            if (inFlight < maxInFlight) {
+                admitted = DONE;
+            } else {
+                admission = new CompletableFuture<>();
+                admitted = admission;
+            }
+        }
+        (previous == null ? DONE : previous).thenCompose(ignored -> run(task)).whenComplete(
+            (result, failure) -> finish(key, tail)
+        );
+        return admitted;
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+    private static CompletionStage<?> run(Supplier<? extends CompletionStage<?>> task) {
+        try {
+            return task.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void finish(String key, CompletableFuture<Void> tail) {
+        CompletableFuture<Void> release = null;
+        synchronized (this) {
+            tails.remove(key, tail);
+            inFlight--;
+            if (!admission.isDone()) {
+                release = admission;
+            }
+        }
+        // Completed outside the lock: both may run the next task or dispatch synchronously
+        if (release != null) {
+            release.complete(null);
+        }
+        tail.complete(null);
+    }
+}
@@ -0,0 +1,39 @@
+package com.gdfesta.example.kafka.consumer;
+
+import com.gdfesta.example.write_side.greeting.services.EntityOverloadedException;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.Duration;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+// An overloaded entity rejects a command before it is sent, so the consumers retry it with
+// backoff; once the retries are exhausted the failure nacks the record
+@Slf4j
+@ApplicationScoped
+class OverloadRetry {
+
+    @ConfigProperty(name = "greeting.overload.consumer-retry.max-retries", defaultValue = "5")
+    int maxRetries;
+
+    @ConfigProperty(
+        name = "greeting.overload.consumer-retry.initial-backoff",
+        defaultValue = "0.1S"
+    )
+    Duration initialBackoff;
+
+    @ConfigProperty(name = "greeting.overload.consumer-retry.max-backoff", defaultValue = "2S")
+    Duration maxBackoff;
+
+    <T> Uni<T> withRetry(Supplier<Uni<T>> operation) {
+        return Uni.createFrom()
+            .deferred(operation)
+            .onFailure(EntityOverloadedException.class)
+            .invoke(failure -> log.warn("Entity overloaded: {}", failure.getMessage()))
+            .onFailure(EntityOverloadedException.class)
+            .retry()
+            .withBackOff(initialBackoff, maxBackoff)
+            .atMost(maxRetries);
+    }
+}
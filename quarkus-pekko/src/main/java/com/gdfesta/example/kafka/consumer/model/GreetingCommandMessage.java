@@ -3,6 +3,7 @@ package com.gdfesta.example.kafka.consumer.model;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.gdfesta.example.write_side.greeting.aggregate.RecentCommandIds;
 
 @JsonTypeInfo(
     use = JsonTypeInfo.Id.NAME,
@@ -18,9 +19,25 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 public sealed interface GreetingCommandMessage {
     String name();
 
+    // Optional: set it to the same value on every redelivery of a command to have it applied once
+    String commandId();
+
+    // Same rules as the Idempotency-Key header of the REST API
+    default boolean hasValidCommandId() {
+        return commandId() == null || RecentCommandIds.isValidId(commandId());
+    }
+
     @JsonTypeName("Greet")
-    record GreetCommand(String name) implements GreetingCommandMessage {}
+    record GreetCommand(String name, String commandId) implements GreetingCommandMessage {
+        public GreetCommand(String name) {
+            this(name, null);
+        }
+    }
 
     @JsonTypeName("UnGreet")
-    record UnGreetCommand(String name) implements GreetingCommandMessage {}
+    record UnGreetCommand(String name, String commandId) implements GreetingCommandMessage {
+        public UnGreetCommand(String name) {
+            this(name, null);
+        }
+    }
 }
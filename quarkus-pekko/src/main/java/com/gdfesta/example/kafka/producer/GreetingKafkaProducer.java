@@ -1,6 +1,7 @@
 package com.gdfesta.example.kafka.producer;
 
 import com.gdfesta.example.kafka.producer.model.GreetingKafkaMessage;
+import com.gdfesta.example.metrics.KafkaProducerMetrics;
 import io.smallrye.reactive.messaging.MutinyEmitter;
 import io.smallrye.reactive.messaging.kafka.api.OutgoingKafkaRecordMetadata;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -15,11 +16,18 @@ import org.eclipse.microprofile.reactive.messaging.OnOverflow;
 @ApplicationScoped
 public class GreetingKafkaProducer {
 
+    // Messages waiting for the Kafka connector; the Kafka projections size their groups so that
+    // all of their instances together never send more than this before acknowledgements
+    public static final int BUFFER_SIZE = 100;
+
     @Inject
     @Channel("greeting-events")
-    @OnOverflow(value = OnOverflow.Strategy.BUFFER, bufferSize = 100)
+    @OnOverflow(value = OnOverflow.Strategy.BUFFER, bufferSize = BUFFER_SIZE)
     MutinyEmitter<GreetingKafkaMessage> emitter;
 
+    @Inject
+    KafkaProducerMetrics metrics;
+
     private static final String FAILURE_MESSAGE =
         "Failed to publish a <GreetingKafkaMessage> message";
 
@@ -30,8 +38,13 @@ public class GreetingKafkaProducer {
 
         message = message.addMetadata(metadata);
 
+        long startNanos = metrics.sending();
         return emitter
             .sendMessage(message)
+            .onTermination()
+            .invoke((ignored, failure, cancelled) ->
+                metrics.completed(startNanos, failure == null && !cancelled)
+            )
             .invoke(() -> log.info("Successfully published a <GreetingKafkaMessage> message"))
             .onFailure()
             .invoke(failure -> log.error(FAILURE_MESSAGE, failure))
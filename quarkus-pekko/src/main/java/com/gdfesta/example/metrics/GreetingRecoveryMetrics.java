@@ -0,0 +1,81 @@
+package com.gdfesta.example.metrics;
+
+import com.gdfesta.example.write_side.greeting.aggregate.RecoveryObserver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Histograms of how long greeting entities take to start and how many events they replay,
+// the two numbers to look at when tuning greeting.aggregate.snapshot. Meters are registered
+// once, recording allocates nothing.
+@ApplicationScoped
+public class GreetingRecoveryMetrics implements RecoveryObserver {
+
+    @Inject
+    MeterRegistry registry;
+
+    private final AtomicInteger inProgress = new AtomicInteger();
+
+    private Counter started;
+    private Timer fromSnapshot;
+    private Timer fromEvents;
+    private DistributionSummary eventsReplayed;
+    private Timer failed;
+
+    @PostConstruct
+    void init() {
+        started = Counter.builder("greeting.entity.recovery.started")
+            .description("Greeting entities that started recovering")
+            .register(registry);
+        Gauge.builder("greeting.entity.recovery.in.progress", inProgress, AtomicInteger::get)
+            .description("Greeting entities recovering right now")
+            .register(registry);
+        fromSnapshot = recoveryTimer("hit");
+        fromEvents = recoveryTimer("miss");
+        eventsReplayed = DistributionSummary.builder("greeting.entity.recovery.events")
+            .description("Events replayed on top of the snapshot during a recovery")
+            .baseUnit("events")
+            .publishPercentileHistogram()
+            .register(registry);
+        failed = Timer.builder("greeting.entity.recovery.failed")
+            .description("Recoveries that failed or were stopped before completing")
+            .register(registry);
+    }
+
+    private Timer recoveryTimer(String snapshot) {
+        return Timer.builder("greeting.entity.recovery")
+            .description("Time from the start of a greeting entity until its recovery completed")
+            .tag("snapshot", snapshot)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    @Override
+    public void started() {
+        started.increment();
+        inProgress.incrementAndGet();
+    }
+
+    @Override
+    public void recovered(long durationNanos, int eventsReplayed, boolean fromSnapshot) {
+        inProgress.decrementAndGet();
+        (fromSnapshot ? this.fromSnapshot : fromEvents).record(
+            durationNanos,
+            TimeUnit.NANOSECONDS
+        );
+        this.eventsReplayed.record(eventsReplayed);
+    }
+
+    @Override
+    public void failed(long durationNanos) {
+        inProgress.decrementAndGet();
+        failed.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,92 @@
+package com.gdfesta.example.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.Locale;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.pekko.pattern.StatusReply;
+
+// Latency of the asks GreetingService sends, per operation and outcome. Every combination is
+// registered up front, so recording an ask only indexes an array.
+@ApplicationScoped
+public class GreetingServiceMetrics {
+
+    public enum Operation {
+        GET,
+        GREET,
+        UNGREET,
+        APPLY_ALL,
+    }
+
+    enum Outcome {
+        // The entity replied with a state
+        SUCCESS,
+        // The entity replied with a StatusReply error, e.g. greeting a closed name
+        REJECTED,
+        // No reply within greeting.ask-timeout
+        TIMEOUT,
+        FAILURE,
+    }
+
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final Timer[][] asks = new Timer[OPERATIONS.length][OUTCOMES.length];
+    private final Counter[] overloaded = new Counter[OPERATIONS.length];
+
+    @Inject
+    public GreetingServiceMetrics(MeterRegistry registry) {
+        for (var operation : OPERATIONS) {
+            var operationTag = tag(operation);
+            for (var outcome : OUTCOMES) {
+                asks[operation.ordinal()][outcome.ordinal()] = Timer.builder("greeting.service.ask")
+                    .description("Time until the entity answered an ask of GreetingService")
+                    .tag("operation", operationTag)
+                    .tag("outcome", tag(outcome))
+                    .publishPercentileHistogram()
+                    .register(registry);
+            }
+            overloaded[operation.ordinal()] = Counter.builder("greeting.service.overloaded")
+                .description("Requests rejected without asking, the entity had too many in flight")
+                .tag("operation", operationTag)
+                .register(registry);
+        }
+    }
+
+    public void overloaded(Operation operation) {
+        overloaded[operation.ordinal()].increment();
+    }
+
+    public void asked(Operation operation, long startNanos, Object reply, Throwable failure) {
+        var outcome = outcome(reply, failure);
+        asks[operation.ordinal()][outcome.ordinal()].record(
+            System.nanoTime() - startNanos,
+            TimeUnit.NANOSECONDS
+        );
+    }
+
+    private static Outcome outcome(Object reply, Throwable failure) {
+        if (failure instanceof CompletionException completion && completion.getCause() != null) {
+            failure = completion.getCause();
+        }
+        if (failure instanceof TimeoutException) {
+            return Outcome.TIMEOUT;
+        }
+        if (failure != null) {
+            return Outcome.FAILURE;
+        }
+        if (reply instanceof StatusReply<?> statusReply && statusReply.isError()) {
+            return Outcome.REJECTED;
+        }
+        return Outcome.SUCCESS;
+    }
+
+    private static String tag(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
@@ -0,0 +1,50 @@
+package com.gdfesta.example.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// The emitter of GreetingKafkaProducer does not expose its overflow buffer, so occupancy is
+// tracked as the messages handed to it and not acknowledged yet: those waiting in the buffer
+// plus those sent to Kafka and awaiting their ack.
+@ApplicationScoped
+public class KafkaProducerMetrics {
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Timer published;
+    private final Counter failed;
+
+    @Inject
+    public KafkaProducerMetrics(MeterRegistry registry) {
+        Gauge.builder("greeting.kafka.producer.pending", pending, AtomicInteger::get)
+            .description("Messages in the emitter buffer or awaiting the Kafka ack")
+            .register(registry);
+        published = Timer.builder("greeting.kafka.producer.publish")
+            .description("Time from handing a message to the emitter until Kafka acknowledged it")
+            .publishPercentileHistogram()
+            .register(registry);
+        failed = Counter.builder("greeting.kafka.producer.failures")
+            .description("Messages the emitter failed to publish, including buffer overflows")
+            .register(registry);
+    }
+
+    // Returns the start time to pass to completed
+    public long sending() {
+        pending.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    public void completed(long startNanos, boolean acknowledged) {
+        pending.decrementAndGet();
+        if (acknowledged) {
+            published.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        } else {
+            failed.increment();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.gdfesta.example.metrics;
+
+import com.gdfesta.quarkus.pekko.InstrumentedMailbox;
+import com.gdfesta.quarkus.pekko.MeteredExecutorConfigurator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.apache.pekko.actor.typed.ActorSystem;
+
+// Queue depths read on scrape from the mailboxes and dispatchers listed in greeting.metrics
+@ApplicationScoped
+public class PekkoRuntimeMetrics {
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    ActorSystem<Void> actorSystem;
+
+    void onStart(@Observes StartupEvent event) {
+        var config = actorSystem.settings().config().getConfig("greeting.metrics");
+        for (var mailbox : config.getStringList("mailboxes")) {
+            Gauge.builder("pekko.mailbox.queued", () -> InstrumentedMailbox.queued(mailbox))
+                .description("Messages waiting in the mailboxes of these actors")
+                .tag("mailbox", mailbox)
+                .register(registry);
+        }
+        for (var dispatcher : config.getStringList("dispatchers")) {
+            Gauge.builder("pekko.dispatcher.queued", () ->
+                MeteredExecutorConfigurator.queued(dispatcher)
+            )
+                .description("Tasks waiting for a thread of the dispatcher")
+                .tag("dispatcher", dispatcher)
+                .register(registry);
+            Gauge.builder("pekko.dispatcher.active", () ->
+                MeteredExecutorConfigurator.active(dispatcher)
+            )
+                .description("Threads of the dispatcher running a task")
+                .tag("dispatcher", dispatcher)
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.gdfesta.example.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.concurrent.TimeUnit;
+import org.apache.pekko.projection.HandlerRecoveryStrategy;
+import org.apache.pekko.projection.ProjectionId;
+import org.apache.pekko.projection.StatusObserver;
+import org.apache.pekko.projection.eventsourced.EventEnvelope;
+
+// Meters of one projection instance, tagged with the projection name and its key (a tag or a
+// slice range). JdbcHandlersCreator registers them when it builds the instance, so the
+// observer and the handler wrappers only record into existing meters.
+@ApplicationScoped
+public class ProjectionMetrics {
+
+    @Inject
+    MeterRegistry registry;
+
+    public Timer handlerTimer(String projection, String key) {
+        return Timer.builder("greeting.projection.handler")
+            .description("Time spent in the handler, per envelope or per group")
+            .tags(tags(projection, key))
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    public <E> StatusObserver<EventEnvelope<E>> statusObserver(String projection, String key) {
+        return new Observer<>(
+            Counter.builder("greeting.projection.events")
+                .description("Envelopes processed, use its rate for events per second")
+                .tags(tags(projection, key))
+                .register(registry),
+            Timer.builder("greeting.projection.lag")
+                .description("Time from the event write until the projection processed it")
+                .tags(tags(projection, key))
+                .publishPercentileHistogram()
+                .register(registry),
+            Counter.builder("greeting.projection.errors")
+                .description("Handler failures, before the recovery strategy applies")
+                .tags(tags(projection, key))
+                .register(registry)
+        );
+    }
+
+    private static Tags tags(String projection, String key) {
+        return Tags.of("projection", projection, "key", key);
+    }
+
+    private static final class Observer<E> extends StatusObserver<EventEnvelope<E>> {
+
+        private final Counter events;
+        private final Timer lag;
+        private final Counter errors;
+
+        private Observer(Counter events, Timer lag, Counter errors) {
+            this.events = events;
+            this.lag = lag;
+            this.errors = errors;
+        }
+
+        @Override
+        public void afterProcess(ProjectionId projectionId, EventEnvelope<E> envelope) {
+            events.increment();
+            lag.record(
+                Math.max(System.currentTimeMillis() - envelope.timestamp(), 0),
+                TimeUnit.MILLISECONDS
+            );
+        }
+
+        @Override
+        public void error(
+            ProjectionId projectionId,
+            EventEnvelope<E> envelope,
+            Throwable cause,
+            HandlerRecoveryStrategy recoveryStrategy
+        ) {
+            errors.increment();
+        }
+
+        @Override
+        public void started(ProjectionId projectionId) {}
+
+        @Override
+        public void failed(ProjectionId projectionId, Throwable cause) {}
+
+        @Override
+        public void stopped(ProjectionId projectionId) {}
+
+        @Override
+        public void beforeProcess(ProjectionId projectionId, EventEnvelope<E> envelope) {}
+
+        @Override
+        public void offsetProgress(ProjectionId projectionId, EventEnvelope<E> envelope) {}
+    }
+}
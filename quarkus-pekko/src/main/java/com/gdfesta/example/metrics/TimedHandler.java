@@ -0,0 +1,39 @@
+package com.gdfesta.example.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import org.apache.pekko.Done;
+import org.apache.pekko.projection.javadsl.Handler;
+
+// Records the time until an asynchronous handler's stage completed
+public class TimedHandler<E> extends Handler<E> {
+
+    private final Handler<E> delegate;
+    private final Timer timer;
+
+    public TimedHandler(Handler<E> delegate, Timer timer) {
+        this.delegate = delegate;
+        this.timer = timer;
+    }
+
+    @Override
+    public CompletionStage<Done> process(E envelope) throws Exception {
+        long startNanos = System.nanoTime();
+        return delegate
+            .process(envelope)
+            .whenComplete((done, failure) ->
+                timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS)
+            );
+    }
+
+    @Override
+    public CompletionStage<Done> start() {
+        return delegate.start();
+    }
+
+    @Override
+    public CompletionStage<Done> stop() {
+        return delegate.stop();
+    }
+}
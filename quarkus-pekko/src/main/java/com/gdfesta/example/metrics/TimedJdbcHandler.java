@@ -0,0 +1,40 @@
+package com.gdfesta.example.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import org.apache.pekko.Done;
+import org.apache.pekko.projection.jdbc.JdbcSession;
+import org.apache.pekko.projection.jdbc.javadsl.JdbcHandler;
+
+// Records the time spent in a blocking JDBC handler, in the projection's transaction
+public class TimedJdbcHandler<E, S extends JdbcSession> extends JdbcHandler<E, S> {
+
+    private final JdbcHandler<E, S> delegate;
+    private final Timer timer;
+
+    public TimedJdbcHandler(JdbcHandler<E, S> delegate, Timer timer) {
+        this.delegate = delegate;
+        this.timer = timer;
+    }
+
+    @Override
+    public void process(S session, E envelope) throws Exception {
+        long startNanos = System.nanoTime();
+        try {
+            delegate.process(session, envelope);
+        } finally {
+            timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public CompletionStage<Done> start() {
+        return delegate.start();
+    }
+
+    @Override
+    public CompletionStage<Done> stop() {
+        return delegate.stop();
+    }
+}
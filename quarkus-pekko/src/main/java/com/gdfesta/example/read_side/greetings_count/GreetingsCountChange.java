@@ -0,0 +1,33 @@
+package com.gdfesta.example.read_side.greetings_count;
+
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingEvent;
+
+/**
+ * The effect of one or more events on a greetings_count row: {@code greetings} is added to
+ * greeting_count and current_count becomes {@code max(current_count + delta, floor)}. Changes of
+ * that shape compose into a change of the same shape, so any number of events for a name folds
+ * into a single row update.
+ */
+public record GreetingsCountChange(int greetings, int delta, int floor) {
+    public static final GreetingsCountChange NONE = new GreetingsCountChange(0, 0, 0);
+
+    public static GreetingsCountChange of(GreetingEvent event) {
+        return switch (event) {
+            case GreetingEvent.Greeted ignored -> new GreetingsCountChange(1, 1, 0);
+            // The aggregate never goes below 0: ungreeting at 0 keeps it at 0
+            case GreetingEvent.UnGreeted ignored -> new GreetingsCountChange(0, -1, 0);
+        };
+    }
+
+    public GreetingsCountChange andThen(GreetingsCountChange next) {
+        return new GreetingsCountChange(
+            greetings + next.greetings,
+            delta + next.delta,
+            Math.max(floor + next.delta, next.floor)
+        );
+    }
+
+    public int applyTo(int currentCount) {
+        return Math.max(currentCount + delta, floor);
+    }
+}
@@ -0,0 +1,71 @@
+package com.gdfesta.example.read_side.greetings_count;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+// Position in a sorted listing: the sort keys of the last row of the previous page. Clients
+// get it as an opaque token; the sort is part of it so a token cannot be replayed against
+// another order.
+public record GreetingsCountCursor(
+    GreetingsCountSort sort,
+    int greetingCount,
+    Instant lastGreetedAt,
+    String name
+) {
+    private static final String SEPARATOR = "|";
+
+    public static GreetingsCountCursor after(GreetingsCountSort sort, GreetingsCountView row) {
+        return new GreetingsCountCursor(
+            sort,
+            row.greetingCount(),
+            row.lastGreetedAt(),
+            row.name()
+        );
+    }
+
+    public String encode() {
+        var key = switch (sort) {
+            case COUNT -> Integer.toString(greetingCount);
+            case NAME -> "";
+            case LAST_GREETED_AT -> lastGreetedAt.toString();
+        };
+        var token = String.join(SEPARATOR, sort.name(), key, name);
+        return Base64.getUrlEncoder()
+            .withoutPadding()
+            .encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static GreetingsCountCursor decode(GreetingsCountSort sort, String token) {
+        String[] parts;
+        try {
+            var decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            parts = decoded.split(Pattern.quote(SEPARATOR), 3);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+        if (parts.length != 3 || !parts[0].equals(sort.name())) {
+            throw new IllegalArgumentException("Cursor does not belong to sort " + sort);
+        }
+        try {
+            return switch (sort) {
+                case COUNT -> new GreetingsCountCursor(
+                    sort,
+                    Integer.parseInt(parts[1]),
+                    null,
+                    parts[2]
+                );
+                case NAME -> new GreetingsCountCursor(sort, 0, null, parts[2]);
+                case LAST_GREETED_AT -> new GreetingsCountCursor(
+                    sort,
+                    0,
+                    Instant.parse(parts[1]),
+                    parts[2]
+                );
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
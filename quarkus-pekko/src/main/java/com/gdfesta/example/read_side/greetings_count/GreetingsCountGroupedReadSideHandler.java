@@ -0,0 +1,59 @@
+package com.gdfesta.example.read_side.greetings_count;
+
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingEvent;
+import com.gdfesta.quarkus.pekko.HibernateJdbcSession;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.pekko.persistence.typed.PersistenceId;
+import org.apache.pekko.projection.eventsourced.EventEnvelope;
+import org.apache.pekko.projection.jdbc.javadsl.JdbcHandler;
+
+public class GreetingsCountGroupedReadSideHandler
+    extends JdbcHandler<List<EventEnvelope<GreetingEvent>>, HibernateJdbcSession> {
+
+    private final GreetingsCountRepository greetingsCountRepository;
+    private final GreetingsCountQueryService greetingsCountQueryService;
+    private final GreetingsLeaderboard greetingsLeaderboard;
+
+    public GreetingsCountGroupedReadSideHandler(
+        GreetingsCountRepository greetingsCountRepository,
+        GreetingsCountQueryService greetingsCountQueryService,
+        GreetingsLeaderboard greetingsLeaderboard
+    ) {
+        this.greetingsCountRepository = greetingsCountRepository;
+        this.greetingsCountQueryService = greetingsCountQueryService;
+        this.greetingsLeaderboard = greetingsLeaderboard;
+    }
+
+    @Override
+    public void process(
+        HibernateJdbcSession session,
+        List<EventEnvelope<GreetingEvent>> envelopes
+    ) {
+        var changes = countChanges(envelopes);
+        if (!changes.isEmpty()) {
+            var greeted = greetingsCountRepository.applyChanges(session, changes);
+            session.afterCommit(() -> {
+                greetingsCountQueryService.invalidate(changes.keySet());
+                greetingsLeaderboard.offer(greeted);
+            });
+        }
+    }
+
+    // Folds the events of each name, in envelope order, into one change per name. UnGreeted
+    // carries no name, so events are keyed by the entity id (which is the name).
+    static Map<String, GreetingsCountChange> countChanges(
+        List<EventEnvelope<GreetingEvent>> envelopes
+    ) {
+        Map<String, GreetingsCountChange> changes = new HashMap<>();
+        for (var envelope : envelopes) {
+            changes.merge(
+                PersistenceId.extractEntityId(envelope.persistenceId()),
+                GreetingsCountChange.of(envelope.event()),
+                GreetingsCountChange::andThen
+            );
+        }
+        return changes;
+    }
+}
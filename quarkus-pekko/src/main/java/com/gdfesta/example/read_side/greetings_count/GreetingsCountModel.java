@@ -16,6 +16,9 @@ public class GreetingsCountModel {
     @Column(name = "greeting_count")
     public Integer greetingCount;
 
+    @Column(name = "current_count")
+    public Integer currentCount;
+
     @Column(name = "last_greeted_at")
     public Instant lastGreetedAt;
 
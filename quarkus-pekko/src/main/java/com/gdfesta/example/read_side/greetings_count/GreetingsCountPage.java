@@ -0,0 +1,24 @@
+package com.gdfesta.example.read_side.greetings_count;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+// next is the token to pass as "after" for the following page, absent on the last page
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GreetingsCountPage(List<GreetingsCountView> items, String next) {
+    // rows holds up to limit + 1 rows: the extra one only tells that there is a next page
+    static GreetingsCountPage of(
+        GreetingsCountSort sort,
+        List<GreetingsCountView> rows,
+        int limit
+    ) {
+        if (rows.size() <= limit) {
+            return new GreetingsCountPage(rows, null);
+        }
+        var items = rows.subList(0, limit);
+        return new GreetingsCountPage(
+            items,
+            GreetingsCountCursor.after(sort, items.getLast()).encode()
+        );
+    }
+}
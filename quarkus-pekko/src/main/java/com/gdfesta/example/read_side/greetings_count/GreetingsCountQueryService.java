@@ -0,0 +1,68 @@
+package com.gdfesta.example.read_side.greetings_count;
+
+import com.gdfesta.example.write_side.greeting.aggregate.CloseState;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingState;
+import com.gdfesta.example.write_side.greeting.aggregate.OpenState;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.Collection;
+
+// Serves greeting states from the greetings_count read model, never touching the entities.
+// Results are eventually consistent: they trail the journal by the projection lag.
+@ApplicationScoped
+public class GreetingsCountQueryService {
+
+    @Inject
+    GreetingsCountRepository greetingsCountRepository;
+
+    @Inject
+    GreetingsLeaderboard greetingsLeaderboard;
+
+    @Inject
+    @CacheName("greetings-count")
+    Cache cache;
+
+    public Uni<GreetingState> get(String name) {
+        return cache
+            .<String, Integer>getAsync(name, key ->
+                Uni.createFrom()
+                    .item(() -> greetingsCountRepository.currentCount(key))
+                    .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+            )
+            .map(GreetingsCountQueryService::toState);
+    }
+
+    // Blocking. The first page by count comes from the leaderboard when it holds enough
+    // rows; every other page is a keyset query.
+    public GreetingsCountPage list(GreetingsCountSort sort, String after, int limit) {
+        var cursor = after == null ? null : GreetingsCountCursor.decode(sort, after);
+        if (sort == GreetingsCountSort.COUNT && cursor == null) {
+            var top = greetingsLeaderboard.top(limit + 1);
+            if (top.isPresent()) {
+                return GreetingsCountPage.of(sort, top.get(), limit);
+            }
+        }
+        return GreetingsCountPage.of(
+            sort,
+            greetingsCountRepository.page(sort, cursor, limit + 1),
+            limit
+        );
+    }
+
+    // Called by the read-side handlers once their transaction committed
+    public void invalidate(Collection<String> names) {
+        for (var name : names) {
+            cache.invalidate(name).await().indefinitely();
+        }
+    }
+
+    static GreetingState toState(int currentCount) {
+        return currentCount >= GreetingState.MAX_COUNT
+            ? new CloseState(currentCount)
+            : new OpenState(currentCount, GreetingState.MAX_COUNT);
+    }
+}
@@ -2,6 +2,8 @@ package com.gdfesta.example.read_side.greetings_count;
 
 import com.gdfesta.example.write_side.greeting.aggregate.GreetingEvent;
 import com.gdfesta.quarkus.pekko.HibernateJdbcSession;
+import java.util.List;
+import org.apache.pekko.persistence.typed.PersistenceId;
 import org.apache.pekko.projection.eventsourced.EventEnvelope;
 import org.apache.pekko.projection.jdbc.javadsl.JdbcHandler;
 
@@ -9,20 +11,33 @@ public class GreetingsCountReadSideHandler
     extends JdbcHandler<EventEnvelope<GreetingEvent>, HibernateJdbcSession> {
 
     private final GreetingsCountRepository greetingsCountRepository;
+    private final GreetingsCountQueryService greetingsCountQueryService;
+    private final GreetingsLeaderboard greetingsLeaderboard;
 
-    public GreetingsCountReadSideHandler(GreetingsCountRepository greetingsCountRepository) {
+    public GreetingsCountReadSideHandler(
+        GreetingsCountRepository greetingsCountRepository,
+        GreetingsCountQueryService greetingsCountQueryService,
+        GreetingsLeaderboard greetingsLeaderboard
+    ) {
         this.greetingsCountRepository = greetingsCountRepository;
+        this.greetingsCountQueryService = greetingsCountQueryService;
+        this.greetingsLeaderboard = greetingsLeaderboard;
     }
 
     @Override
     public void process(HibernateJdbcSession session, EventEnvelope<GreetingEvent> envelope) {
+        var name = PersistenceId.extractEntityId(envelope.persistenceId());
         switch (envelope.event()) {
-            case GreetingEvent.Greeted greeted -> greetingsCountRepository.upsertGreeting(
-                greeted.name()
-            );
-            case GreetingEvent.UnGreeted ignored -> {
-                // No read-side update needed
+            case GreetingEvent.Greeted greeted -> {
+                var row = greetingsCountRepository.upsertGreeting(session, greeted.name(), 1);
+                session.afterCommit(() -> greetingsLeaderboard.offer(List.of(row)));
             }
+            // Only lowers the current count, the total of greetings is unchanged
+            case GreetingEvent.UnGreeted ignored -> greetingsCountRepository.ungreet(
+                session,
+                name
+            );
         }
+        session.afterCommit(() -> greetingsCountQueryService.invalidate(List.of(name)));
     }
 }
@@ -1,23 +1,217 @@
 package com.gdfesta.example.read_side.greetings_count;
 
+import com.gdfesta.quarkus.pekko.HibernateJdbcSession;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.transaction.Transactional;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.Instant;
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.hibernate.Session;
 
 @ApplicationScoped
 public class GreetingsCountRepository
     implements PanacheRepositoryBase<GreetingsCountModel, String> {
 
+    private static final Sort BY_COUNT = Sort.descending("greetingCount").and("name");
+    private static final Sort BY_NAME = Sort.ascending("name");
+    private static final Sort BY_LAST_GREETED_AT = Sort.descending("lastGreetedAt", "name");
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO greetings_count (name, greeting_count, current_count, last_greeted_at)
+        VALUES (?, ?, ?, ?)
+        ON CONFLICT (name) DO UPDATE
+        SET greeting_count = greetings_count.greeting_count + EXCLUDED.greeting_count,
+            current_count = greetings_count.current_count + EXCLUDED.current_count,
+            last_greeted_at = EXCLUDED.last_greeted_at
+        RETURNING name, greeting_count, current_count, last_greeted_at
+        """;
+
+    private static final String UNGREET_SQL = """
+        UPDATE greetings_count
+        SET current_count = GREATEST(current_count - 1, 0)
+        WHERE name = ?
+        """;
+
+    // The batched write of the grouped read side: one statement for a whole group, with the
+    // per-name changes sent as arrays and unnested server side, so the number of names does not
+    // change the number of round trips. It took over from the per-name delta batch upsert.
+    // MERGE rather than INSERT ... ON CONFLICT: the update needs delta and floor, which are
+    // not columns of the table and so not reachable through EXCLUDED. Names that were only
+    // ungreeted are not inserted, a missing row already reads as a count of 0.
+    private static final String APPLY_CHANGES_SQL = """
+        MERGE INTO greetings_count g
+        USING (
+            SELECT *
+            FROM unnest(?::varchar[], ?::integer[], ?::integer[], ?::integer[])
+                AS u(name, greetings, delta, floor_count)
+        ) d
+        ON g.name = d.name
+        WHEN MATCHED THEN UPDATE
+            SET greeting_count = g.greeting_count + d.greetings,
+                current_count = GREATEST(g.current_count + d.delta, d.floor_count),
+                last_greeted_at = CASE WHEN d.greetings > 0 THEN ? ELSE g.last_greeted_at END
+        WHEN NOT MATCHED AND d.greetings > 0 THEN
+            INSERT (name, greeting_count, current_count, last_greeted_at)
+            VALUES (d.name, d.greetings, GREATEST(d.delta, d.floor_count), ?)
+        """;
+
+    // MERGE ... RETURNING needs Postgres 17, so the greeted rows are read back in the same
+    // transaction instead
+    private static final String SELECT_BY_NAMES_SQL = """
+        SELECT name, greeting_count, current_count, last_greeted_at
+        FROM greetings_count
+        WHERE name = ANY(?::varchar[])
+        """;
+
+    @Transactional
+    public int currentCount(String name) {
+        var model = findById(name);
+        return model == null ? 0 : model.currentCount;
+    }
+
+    // One page of a keyset listing: rows strictly after the cursor in the sort order, so the
+    // cost of a page does not depend on how deep into the listing it is. Each predicate bounds
+    // the leading column of its index so the scan starts at the cursor: a row comparison where
+    // both columns sort the same way, otherwise a <= on the first column plus the tie-breaker
+    @Transactional
+    public List<GreetingsCountView> page(
+        GreetingsCountSort sort,
+        GreetingsCountCursor after,
+        int limit
+    ) {
+        var query = switch (sort) {
+            case COUNT -> after == null
+                ? findAll(BY_COUNT)
+                : find(
+                    "greetingCount <= ?1 and (greetingCount < ?1 or name > ?2)",
+                    BY_COUNT,
+                    after.greetingCount(),
+                    after.name()
+                );
+            case NAME -> after == null
+                ? findAll(BY_NAME)
+                : find("name > ?1", BY_NAME, after.name());
+            case LAST_GREETED_AT -> after == null
+                ? findAll(BY_LAST_GREETED_AT)
+                : find(
+                    "(lastGreetedAt, name) < (?1, ?2)",
+                    BY_LAST_GREETED_AT,
+                    after.lastGreetedAt(),
+                    after.name()
+                );
+        };
+        return query.page(0, limit).stream().map(GreetingsCountView::from).toList();
+    }
+
     @Transactional
     public void upsertGreeting(String name) {
-        GreetingsCountModel greeting = Optional.ofNullable(findById(name))
-            .map(
-                existing -> new GreetingsCountModel(name, existing.greetingCount + 1, Instant.now())
-            )
-            .orElseGet(() -> new GreetingsCountModel(name, 1, Instant.now()));
-        getEntityManager().merge(greeting);
-        flush();
+        upsertGreeting(name, 1);
+    }
+
+    @Transactional
+    public void upsertGreeting(String name, int delta) {
+        var now = Instant.now();
+        getEntityManager()
+            .unwrap(Session.class)
+            .doWork(connection -> upsert(connection, name, delta, now));
+    }
+
+    // Writes through the session's connection, so the read model update commits or rolls
+    // back together with whatever else the session does (e.g. a projection offset write).
+    public GreetingsCountView upsertGreeting(HibernateJdbcSession session, String name, int delta) {
+        var now = Instant.now();
+        return session.withConnection(connection -> upsert(connection, name, delta, now));
+    }
+
+    public void ungreet(HibernateJdbcSession session, String name) {
+        session.<Void>withConnection(connection -> {
+            try (var statement = connection.prepareStatement(UNGREET_SQL)) {
+                statement.setString(1, name);
+                statement.executeUpdate();
+            }
+            return null;
+        });
+    }
+
+    // Returns the updated rows of the names that were greeted
+    public List<GreetingsCountView> applyChanges(
+        HibernateJdbcSession session,
+        Map<String, GreetingsCountChange> changes
+    ) {
+        if (changes.isEmpty()) {
+            return List.of();
+        }
+        var now = Timestamp.from(Instant.now());
+        // Sorted by name so concurrent batches lock overlapping rows in the same order
+        var sorted = new TreeMap<>(changes);
+        var names = sorted.keySet().toArray(String[]::new);
+        var greetings = sorted.values().stream().map(GreetingsCountChange::greetings).toArray();
+        var deltas = sorted.values().stream().map(GreetingsCountChange::delta).toArray();
+        var floors = sorted.values().stream().map(GreetingsCountChange::floor).toArray();
+        var greeted = sorted
+            .entrySet()
+            .stream()
+            .filter(entry -> entry.getValue().greetings() > 0)
+            .map(Map.Entry::getKey)
+            .toArray(String[]::new);
+        return session.withConnection(connection -> {
+            try (var statement = connection.prepareStatement(APPLY_CHANGES_SQL)) {
+                statement.setArray(1, connection.createArrayOf("varchar", names));
+                statement.setArray(2, connection.createArrayOf("integer", greetings));
+                statement.setArray(3, connection.createArrayOf("integer", deltas));
+                statement.setArray(4, connection.createArrayOf("integer", floors));
+                statement.setTimestamp(5, now);
+                statement.setTimestamp(6, now);
+                statement.executeUpdate();
+            }
+            if (greeted.length == 0) {
+                return List.<GreetingsCountView>of();
+            }
+            try (var statement = connection.prepareStatement(SELECT_BY_NAMES_SQL)) {
+                statement.setArray(1, connection.createArrayOf("varchar", greeted));
+                try (var rows = statement.executeQuery()) {
+                    var views = new ArrayList<GreetingsCountView>(greeted.length);
+                    while (rows.next()) {
+                        views.add(toView(rows));
+                    }
+                    return views;
+                }
+            }
+        });
+    }
+
+    private static GreetingsCountView upsert(
+        Connection connection,
+        String name,
+        int delta,
+        Instant now
+    ) throws SQLException {
+        try (var statement = connection.prepareStatement(UPSERT_SQL)) {
+            statement.setString(1, name);
+            statement.setInt(2, delta);
+            statement.setInt(3, delta);
+            statement.setTimestamp(4, Timestamp.from(now));
+            try (var rows = statement.executeQuery()) {
+                rows.next();
+                return toView(rows);
+            }
+        }
+    }
+
+    private static GreetingsCountView toView(ResultSet row) throws SQLException {
+        return new GreetingsCountView(
+            row.getString("name"),
+            row.getInt("greeting_count"),
+            row.getInt("current_count"),
+            row.getTimestamp("last_greeted_at").toInstant()
+        );
     }
 }
@@ -0,0 +1,18 @@
+package com.gdfesta.example.read_side.greetings_count;
+
+import java.util.Locale;
+
+// Orders of GET /greetings, each backed by an index (see V6__greetings_count_listing_indexes)
+public enum GreetingsCountSort {
+    // Most greeted first, ties by name
+    COUNT,
+    // Alphabetical
+    NAME,
+    // Most recently greeted first, ties by name descending
+    LAST_GREETED_AT;
+
+    // Accepts "last-greeted-at" and "last_greeted_at" as well as "LAST_GREETED_AT"
+    public static GreetingsCountSort fromString(String value) {
+        return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
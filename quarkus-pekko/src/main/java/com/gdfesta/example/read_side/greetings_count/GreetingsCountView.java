@@ -0,0 +1,19 @@
+package com.gdfesta.example.read_side.greetings_count;
+
+import java.time.Instant;
+
+public record GreetingsCountView(
+    String name,
+    int greetingCount,
+    int currentCount,
+    Instant lastGreetedAt
+) {
+    public static GreetingsCountView from(GreetingsCountModel model) {
+        return new GreetingsCountView(
+            model.name,
+            model.greetingCount,
+            model.currentCount,
+            model.lastGreetedAt
+        );
+    }
+}
@@ -0,0 +1,87 @@
+package com.gdfesta.example.read_side.greetings_count;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+// The most greeted names, kept in memory so GET /greetings?sort=count is served without
+// querying the table. The read-side handlers offer every row they update once it committed;
+// greeting_count only grows, so a name can only enter the top by being updated here.
+// Rows committed by projection instances on other nodes are picked up by the periodic refresh.
+@ApplicationScoped
+public class GreetingsLeaderboard {
+
+    static final Comparator<GreetingsCountView> ORDER = Comparator.comparingInt(
+        (GreetingsCountView row) -> -row.greetingCount()
+    ).thenComparing(GreetingsCountView::name);
+
+    @Inject
+    GreetingsCountRepository greetingsCountRepository;
+
+    @ConfigProperty(name = "greeting.leaderboard.size", defaultValue = "200")
+    int size;
+
+    // Guarded by this; at most size entries
+    private final Map<String, GreetingsCountView> entries = new HashMap<>();
+
+    // Sorted copy of entries, replaced on every change so reads take no lock
+    private volatile List<GreetingsCountView> top = List.of();
+
+    private volatile boolean seeded;
+
+    // Empty until the first refresh completed, or when more rows are asked than are kept
+    public Optional<List<GreetingsCountView>> top(int limit) {
+        if (!seeded || limit > size) {
+            return Optional.empty();
+        }
+        var current = top;
+        return Optional.of(current.subList(0, Math.min(limit, current.size())));
+    }
+
+    public synchronized void offer(Collection<GreetingsCountView> rows) {
+        for (var row : rows) {
+            entries.merge(row.name(), row, GreetingsLeaderboard::latest);
+        }
+        publish();
+    }
+
+    @Scheduled(
+        every = "${greeting.leaderboard.refresh-interval:30s}",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    void refresh() {
+        seed(greetingsCountRepository.page(GreetingsCountSort.COUNT, null, size));
+    }
+
+    synchronized void seed(List<GreetingsCountView> rows) {
+        var offered = Map.copyOf(entries);
+        entries.clear();
+        for (var row : rows) {
+            var previous = offered.get(row.name());
+            entries.put(row.name(), previous == null ? row : latest(previous, row));
+        }
+        publish();
+        seeded = true;
+    }
+
+    private void publish() {
+        var sorted = entries.values().stream().sorted(ORDER).toList();
+        if (sorted.size() > size) {
+            sorted.subList(size, sorted.size()).forEach(row -> entries.remove(row.name()));
+            sorted = sorted.subList(0, size);
+        }
+        top = sorted;
+    }
+
+    // A refresh may read a row before an update that was already offered: keep the newest
+    private static GreetingsCountView latest(GreetingsCountView a, GreetingsCountView b) {
+        return b.greetingCount() >= a.greetingCount() ? b : a;
+    }
+}
@@ -0,0 +1,325 @@
+package com.gdfesta.example.write_side;
+
+import com.gdfesta.example.write_side.greeting.aggregate.CloseState;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingCommand;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingEvent;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingState;
+import com.gdfesta.example.write_side.greeting.aggregate.OpenState;
+import com.gdfesta.example.write_side.greeting.aggregate.RecentCommandIds;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import org.apache.pekko.actor.ExtendedActorSystem;
+import org.apache.pekko.actor.typed.ActorRef;
+import org.apache.pekko.actor.typed.ActorRefResolver;
+import org.apache.pekko.actor.typed.javadsl.Adapter;
+import org.apache.pekko.pattern.StatusReply;
+import org.apache.pekko.serialization.SerializerWithStringManifest;
+
+/**
+ * Binary serializer for the greeting events, states and commands. Every payload starts with a
+ * flags byte announcing optional fields, followed by the fields in declaration order and then the
+ * optional ones, so a payload without them reads as it always has; ints are
+ * var-length encoded. Manifests are two letters and must never be reused for another type.
+ */
+public class GreetingSerializer extends SerializerWithStringManifest {
+
+    public static final int IDENTIFIER = 7101;
+
+    private static final String GREETED_MANIFEST = "EG";
+    private static final String UN_GREETED_MANIFEST = "EU";
+    private static final String OPEN_STATE_MANIFEST = "SO";
+    private static final String CLOSE_STATE_MANIFEST = "SC";
+    private static final String GET_MANIFEST = "CQ";
+    private static final String GREET_MANIFEST = "CG";
+    private static final String UN_GREET_MANIFEST = "CU";
+    private static final String BATCH_MANIFEST = "CB";
+    private static final String APPLY_ALL_MANIFEST = "CA";
+
+    // ApplyAll operations are written by ordinal: new constants may only be appended
+    private static final GreetingCommand.Operation[] OPERATIONS =
+        GreetingCommand.Operation.values();
+
+    // Optional fields are written after the mandatory ones, in the order of the flags below
+    private static final int COMMAND_ID = 0x01;
+    private static final int RECENT_COMMAND_IDS = 0x02;
+
+    // Unknown bits mean the payload was written by a newer version
+    private static final int KNOWN_FLAGS = COMMAND_ID | RECENT_COMMAND_IDS;
+
+    private final ActorRefResolver actorRefResolver;
+
+    public GreetingSerializer(ExtendedActorSystem system) {
+        this.actorRefResolver = ActorRefResolver.get(Adapter.toTyped(system));
+    }
+
+    @Override
+    public int identifier() {
+        return IDENTIFIER;
+    }
+
+    @Override
+    public String manifest(Object o) {
+        return switch (o) {
+            case GreetingEvent.Greeted ignored -> GREETED_MANIFEST;
+            case GreetingEvent.UnGreeted ignored -> UN_GREETED_MANIFEST;
+            case OpenState ignored -> OPEN_STATE_MANIFEST;
+            case CloseState ignored -> CLOSE_STATE_MANIFEST;
+            case GreetingCommand.Get ignored -> GET_MANIFEST;
+            case GreetingCommand.Greet ignored -> GREET_MANIFEST;
+            case GreetingCommand.UnGreet ignored -> UN_GREET_MANIFEST;
+            case GreetingCommand.Batch ignored -> BATCH_MANIFEST;
+            case GreetingCommand.ApplyAll ignored -> APPLY_ALL_MANIFEST;
+            default -> throw new IllegalArgumentException(
+                "Can't serialize object of type " + o.getClass()
+            );
+        };
+    }
+
+    @Override
+    public byte[] toBinary(Object o) {
+        var bytes = new ByteArrayOutputStream(32);
+        try (var out = new DataOutputStream(bytes)) {
+            int flags = flags(o);
+            out.writeByte(flags);
+            switch (o) {
+                case GreetingEvent.Greeted greeted -> {
+                    out.writeUTF(greeted.name());
+                    writeCommandId(out, flags, greeted.commandId());
+                }
+                case GreetingEvent.UnGreeted unGreeted -> writeCommandId(
+                    out,
+                    flags,
+                    unGreeted.commandId()
+                );
+                case OpenState state -> {
+                    writeVarInt(out, state.count());
+                    writeVarInt(out, state.maxCount());
+                    writeRecentCommandIds(out, flags, state.recentCommandIds());
+                }
+                case CloseState state -> {
+                    writeVarInt(out, state.count());
+                    writeRecentCommandIds(out, flags, state.recentCommandIds());
+                }
+                case GreetingCommand.Get get -> writeActorRef(out, get.replyTo());
+                case GreetingCommand.Greet greet -> {
+                    out.writeUTF(greet.name());
+                    writeActorRef(out, greet.replyTo());
+                    writeCommandId(out, flags, greet.commandId());
+                }
+                case GreetingCommand.UnGreet unGreet -> {
+                    writeActorRef(out, unGreet.replyTo());
+                    writeCommandId(out, flags, unGreet.commandId());
+                }
+                case GreetingCommand.Batch batch -> {
+                    writeVarInt(out, batch.commands().size());
+                    for (var command : batch.commands()) {
+                        var nested = toBinary(command);
+                        out.writeUTF(manifest(command));
+                        writeVarInt(out, nested.length);
+                        out.write(nested);
+                    }
+                    writeActorRef(out, batch.replyTo());
+                }
+                case GreetingCommand.ApplyAll applyAll -> {
+                    out.writeUTF(applyAll.name());
+                    writeVarInt(out, applyAll.operations().size());
+                    for (var operation : applyAll.operations()) {
+                        out.writeByte(operation.ordinal());
+                    }
+                    writeActorRef(out, applyAll.replyTo());
+                    if ((flags & COMMAND_ID) != 0) {
+                        for (var commandId : applyAll.commandIds()) {
+                            writeCommandId(out, flags, commandId);
+                        }
+                    }
+                }
+                default -> throw new IllegalArgumentException(
+                    "Can't serialize object of type " + o.getClass()
+                );
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Object fromBinary(byte[] bytes, String manifest) throws NotSerializableException {
+        try (var in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            int flags = in.readUnsignedByte();
+            if ((flags & ~KNOWN_FLAGS) != 0) {
+                throw new NotSerializableException(
+                    "Unsupported flags " + flags + " for manifest " + manifest
+                );
+            }
+            return switch (manifest) {
+                case GREETED_MANIFEST -> new GreetingEvent.Greeted(
+                    in.readUTF(),
+                    readCommandId(in, flags)
+                );
+                case UN_GREETED_MANIFEST -> new GreetingEvent.UnGreeted(readCommandId(in, flags));
+                case OPEN_STATE_MANIFEST -> new OpenState(
+                    readVarInt(in),
+                    readVarInt(in),
+                    readRecentCommandIds(in, flags)
+                );
+                case CLOSE_STATE_MANIFEST -> new CloseState(
+                    readVarInt(in),
+                    readRecentCommandIds(in, flags)
+                );
+                case GET_MANIFEST -> new GreetingCommand.Get(readActorRef(in));
+                case GREET_MANIFEST -> readGreet(in, flags);
+                case UN_GREET_MANIFEST -> readUnGreet(in, flags);
+                case BATCH_MANIFEST -> readBatch(in);
+                case APPLY_ALL_MANIFEST -> readApplyAll(in, flags);
+                default -> throw new NotSerializableException(
+                    "Unknown manifest [" + manifest + "]"
+                );
+            };
+        } catch (IOException e) {
+            if (e instanceof NotSerializableException notSerializable) {
+                throw notSerializable;
+            }
+            throw new NotSerializableException(
+                "Failed to read [" + manifest + "]: " + e.getMessage()
+            );
+        }
+    }
+
+    private GreetingCommand.Batch readBatch(DataInputStream in) throws IOException {
+        int size = readVarInt(in);
+        var commands = new ArrayList<GreetingCommand.NonGet>(size);
+        for (int i = 0; i < size; i++) {
+            var manifest = in.readUTF();
+            var nested = new byte[readVarInt(in)];
+            in.readFully(nested);
+            commands.add((GreetingCommand.NonGet) fromBinary(nested, manifest));
+        }
+        return new GreetingCommand.Batch(commands, readActorRef(in));
+    }
+
+    private static int flags(Object o) {
+        return switch (o) {
+            case GreetingEvent event -> event.commandId() != null ? COMMAND_ID : 0;
+            case GreetingCommand.NonGet command -> command.commandId() != null ? COMMAND_ID : 0;
+            case GreetingCommand.ApplyAll applyAll -> applyAll.commandIds().isEmpty()
+                ? 0
+                : COMMAND_ID;
+            case GreetingState state -> state.recentCommandIds().ids().isEmpty()
+                ? 0
+                : RECENT_COMMAND_IDS;
+            default -> 0;
+        };
+    }
+
+    private GreetingCommand.Greet readGreet(DataInputStream in, int flags) throws IOException {
+        var name = in.readUTF();
+        ActorRef<StatusReply<GreetingState>> replyTo = readActorRef(in);
+        return new GreetingCommand.Greet(name, readCommandId(in, flags), replyTo);
+    }
+
+    private GreetingCommand.UnGreet readUnGreet(DataInputStream in, int flags)
+        throws IOException {
+        ActorRef<StatusReply<GreetingState>> replyTo = readActorRef(in);
+        return new GreetingCommand.UnGreet(readCommandId(in, flags), replyTo);
+    }
+
+    private GreetingCommand.ApplyAll readApplyAll(DataInputStream in, int flags)
+        throws IOException {
+        var name = in.readUTF();
+        int size = readVarInt(in);
+        var operations = new ArrayList<GreetingCommand.Operation>(size);
+        for (int i = 0; i < size; i++) {
+            int ordinal = in.readUnsignedByte();
+            if (ordinal >= OPERATIONS.length) {
+                throw new IOException("Unknown operation " + ordinal);
+            }
+            operations.add(OPERATIONS[ordinal]);
+        }
+        ActorRef<StatusReply<GreetingState>> replyTo = readActorRef(in);
+        var commandIds = new ArrayList<String>();
+        if ((flags & COMMAND_ID) != 0) {
+            for (int i = 0; i < size; i++) {
+                commandIds.add(readCommandId(in, flags));
+            }
+        }
+        return new GreetingCommand.ApplyAll(name, operations, commandIds, replyTo);
+    }
+
+    // Written the same way for every message: an ApplyAll may carry ids for some operations
+    // only, and a missing id is written as an empty string, which is never a valid id
+    private static void writeCommandId(DataOutputStream out, int flags, String commandId)
+        throws IOException {
+        if ((flags & COMMAND_ID) != 0) {
+            out.writeUTF(commandId == null ? "" : commandId);
+        }
+    }
+
+    private static String readCommandId(DataInputStream in, int flags) throws IOException {
+        if ((flags & COMMAND_ID) == 0) {
+            return null;
+        }
+        var commandId = in.readUTF();
+        return commandId.isEmpty() ? null : commandId;
+    }
+
+    private static void writeRecentCommandIds(
+        DataOutputStream out,
+        int flags,
+        RecentCommandIds recent
+    ) throws IOException {
+        if ((flags & RECENT_COMMAND_IDS) != 0) {
+            writeVarInt(out, recent.ids().size());
+            for (var commandId : recent.ids()) {
+                out.writeUTF(commandId);
+            }
+        }
+    }
+
+    private static RecentCommandIds readRecentCommandIds(DataInputStream in, int flags)
+        throws IOException {
+        if ((flags & RECENT_COMMAND_IDS) == 0) {
+            return RecentCommandIds.EMPTY;
+        }
+        int size = readVarInt(in);
+        var ids = new ArrayList<String>(size);
+        for (int i = 0; i < size; i++) {
+            ids.add(in.readUTF());
+        }
+        return new RecentCommandIds(ids);
+    }
+
+    private void writeActorRef(DataOutputStream out, ActorRef<?> ref) throws IOException {
+        out.writeUTF(actorRefResolver.toSerializationFormat(ref));
+    }
+
+    private <T> ActorRef<T> readActorRef(DataInputStream in) throws IOException {
+        return actorRefResolver.resolveActorRef(in.readUTF());
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed var int");
+    }
+}
@@ -2,12 +2,26 @@ package com.gdfesta.example.write_side.greeting.aggregate;
 
 import java.util.List;
 
-public record CloseState(int count) implements GreetingState {
+public record CloseState(int count, RecentCommandIds recentCommandIds) implements GreetingState {
+    public CloseState {
+        if (recentCommandIds == null) {
+            recentCommandIds = RecentCommandIds.EMPTY;
+        }
+    }
+
+    public CloseState(int count) {
+        this(count, RecentCommandIds.EMPTY);
+    }
+
     @Override
     public List<GreetingEvent> onCommand(GreetingCommand.NonGet command) {
+        // Checked first: the greet that closed the state may be redelivered
+        if (isDuplicate(command)) {
+            return List.of();
+        }
         switch (command) {
-            case GreetingCommand.UnGreet ignored -> {
-                return List.of(new GreetingEvent.UnGreeted());
+            case GreetingCommand.UnGreet unGreet -> {
+                return List.of(new GreetingEvent.UnGreeted(unGreet.commandId()));
             }
             case GreetingCommand.Greet ignored -> throw new IllegalStateException(
                 "Cannot greet more than " + count + " times"
@@ -18,8 +32,9 @@ public record CloseState(int count) implements GreetingState {
     @Override
     public GreetingState onEvent(GreetingEvent event) {
         switch (event) {
-            case GreetingEvent.UnGreeted ignored -> {
-                return new OpenState(count - 1, count);
+            case GreetingEvent.UnGreeted unGreeted -> {
+                var recent = recentCommandIds.add(unGreeted.commandId());
+                return new OpenState(count - 1, count, recent);
             }
             case GreetingEvent.Greeted ignored -> throw new IllegalStateException(
                 "Cannot greet more than " + count + " times"
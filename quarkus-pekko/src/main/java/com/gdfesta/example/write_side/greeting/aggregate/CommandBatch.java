@@ -0,0 +1,35 @@
+package com.gdfesta.example.write_side.greeting.aggregate;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.pekko.pattern.StatusReply;
+
+record CommandBatch(List<GreetingEvent> events, List<StatusReply<GreetingState>> replies) {
+    // Validates the commands one after the other, each against the state left by the
+    // previous ones, exactly as if they had been handled one by one. A rejected command
+    // contributes no events and does not affect the others.
+    static CommandBatch validate(GreetingState state, List<GreetingCommand.NonGet> commands) {
+        var events = new ArrayList<GreetingEvent>();
+        var replies = new ArrayList<StatusReply<GreetingState>>(commands.size());
+        for (var command : commands) {
+            try {
+                var commandEvents = state.onCommand(command);
+                for (var event : commandEvents) {
+                    state = state.onEvent(event);
+                }
+                events.addAll(commandEvents);
+                replies.add(StatusReply.success(state));
+            } catch (IllegalStateException e) {
+                replies.add(StatusReply.error(e));
+            }
+        }
+        return new CommandBatch(events, replies);
+    }
+
+    // One reply for the whole batch: the final state, also when commands were rejected. A
+    // rejection (e.g. a greet on a closed name) persisted nothing and is a normal outcome, while
+    // an error would make the sender redeliver, and so apply again, the accepted commands.
+    StatusReply<GreetingState> summary(GreetingState finalState) {
+        return StatusReply.success(finalState);
+    }
+}
@@ -1,9 +1,12 @@
 package com.gdfesta.example.write_side.greeting.aggregate;
 
 import java.util.Collections;
-import java.util.List;
 import java.util.Set;
+import org.apache.pekko.Done;
 import org.apache.pekko.actor.typed.Behavior;
+import org.apache.pekko.actor.typed.PostStop;
+import org.apache.pekko.actor.typed.javadsl.ActorContext;
+import org.apache.pekko.actor.typed.javadsl.Behaviors;
 import org.apache.pekko.cluster.sharding.typed.javadsl.EntityContext;
 import org.apache.pekko.cluster.sharding.typed.javadsl.EntityTypeKey;
 import org.apache.pekko.pattern.StatusReply;
@@ -11,7 +14,11 @@ import org.apache.pekko.persistence.typed.PersistenceId;
 import org.apache.pekko.persistence.typed.javadsl.CommandHandler;
 import org.apache.pekko.persistence.typed.javadsl.EventHandler;
 import org.apache.pekko.persistence.typed.javadsl.EventSourcedBehavior;
+import org.apache.pekko.persistence.typed.RecoveryCompleted;
+import org.apache.pekko.persistence.typed.RecoveryFailed;
+import org.apache.pekko.persistence.typed.SnapshotCompleted;
 import org.apache.pekko.persistence.typed.javadsl.RetentionCriteria;
+import org.apache.pekko.persistence.typed.javadsl.SignalHandler;
 
 public class GreetingActorBehavior
     extends EventSourcedBehavior<GreetingCommand, GreetingEvent, GreetingState> {
@@ -21,27 +28,72 @@ public class GreetingActorBehavior
         "greeting-aggregate"
     );
 
-    public static final List<String> tags = List.of(
-        "greeting-0",
-        "greeting-1",
-        "greeting-2",
-        "greeting-3",
-        "greeting-4"
-    );
+    private final ActorContext<GreetingCommand> context;
+    private final Set<String> tags;
+    private final SnapshotSettings snapshots;
+    private final RecoveryObserver recoveryObserver;
+
+    // Built by Behaviors.setup every time the entity (re)starts, so this is when its recovery
+    // started
+    private final long startedAtNanos = System.nanoTime();
+    private boolean recovering = true;
+    private int eventsReplayed = 0;
+    private boolean snapshotNextEvent = false;
+    private long lastSnapshotAtNanos;
+
+    public static Behavior<GreetingCommand> create(
+        EntityContext<GreetingCommand> entityContext,
+        GreetingTags tags,
+        SnapshotSettings snapshots,
+        RecoveryObserver recoveryObserver
+    ) {
+        return create(persistenceId(entityContext), tags, snapshots, recoveryObserver);
+    }
+
+    public static Behavior<GreetingCommand> create(
+        EntityContext<GreetingCommand> entityContext,
+        GreetingTags tags
+    ) {
+        return create(persistenceId(entityContext), tags);
+    }
+
+    public static Behavior<GreetingCommand> create(PersistenceId persistenceId, GreetingTags tags) {
+        return create(persistenceId, tags, SnapshotSettings.DEFAULT, RecoveryObserver.NONE);
+    }
 
-    public static Behavior<GreetingCommand> create(EntityContext<GreetingCommand> entityContext) {
-        return new GreetingActorBehavior(
-            PersistenceId.of(entityContext.getEntityTypeKey().name(), entityContext.getEntityId())
+    public static Behavior<GreetingCommand> create(
+        PersistenceId persistenceId,
+        GreetingTags tags,
+        SnapshotSettings snapshots,
+        RecoveryObserver recoveryObserver
+    ) {
+        return Behaviors.setup(context ->
+            new GreetingActorBehavior(context, persistenceId, tags, snapshots, recoveryObserver)
         );
     }
 
-    private GreetingActorBehavior(PersistenceId persistenceId) {
+    public static PersistenceId persistenceId(EntityContext<GreetingCommand> entityContext) {
+        return PersistenceId.of(entityContext.getEntityTypeKey().name(), entityContext.getEntityId());
+    }
+
+    private GreetingActorBehavior(
+        ActorContext<GreetingCommand> context,
+        PersistenceId persistenceId,
+        GreetingTags tags,
+        SnapshotSettings snapshots,
+        RecoveryObserver recoveryObserver
+    ) {
         super(persistenceId);
+        this.context = context;
+        this.tags = Collections.singleton(tags.tagFor(persistenceId.entityId()));
+        this.snapshots = snapshots;
+        this.recoveryObserver = recoveryObserver;
+        recoveryObserver.started();
     }
 
     @Override
     public GreetingState emptyState() {
-        return new OpenState(0, 5);
+        return new OpenState(0, GreetingState.MAX_COUNT);
     }
 
     @Override
@@ -65,23 +117,111 @@ public class GreetingActorBehavior
                     return Effect().reply(command.replyTo(), StatusReply.error(e));
                 }
             })
+            .onCommand(GreetingCommand.Batch.class, (state, batch) -> {
+                var validated = CommandBatch.validate(state, batch.commands());
+
+                // A single journal write for the events of all accepted commands
+                var effect = validated.events().isEmpty()
+                    ? Effect().none()
+                    : Effect().persist(validated.events());
+
+                return effect.thenRun(newState -> {
+                    for (int i = 0; i < batch.commands().size(); i++) {
+                        batch.commands().get(i).replyTo().tell(validated.replies().get(i));
+                    }
+                    batch.replyTo().tell(Done.getInstance());
+                });
+            })
+            .onCommand(GreetingCommand.ApplyAll.class, (state, applyAll) -> {
+                var validated = CommandBatch.validate(state, applyAll.commands());
+
+                var effect = validated.events().isEmpty()
+                    ? Effect().none()
+                    : Effect().persist(validated.events());
+
+                return effect.thenRun(newState ->
+                    applyAll.replyTo().tell(validated.summary(newState))
+                );
+            })
             .build();
     }
 
     @Override
     public EventHandler<GreetingState, GreetingEvent> eventHandler() {
-        return newEventHandlerBuilder().forAnyState().onAnyEvent(GreetingState::onEvent);
+        return newEventHandlerBuilder()
+            .forAnyState()
+            .onAnyEvent((state, event) -> {
+                if (recovering) {
+                    eventsReplayed++;
+                }
+                return state.onEvent(event);
+            });
+    }
+
+    @Override
+    public SignalHandler<GreetingState> signalHandler() {
+        return newSignalHandlerBuilder()
+            .onSignal(RecoveryCompleted.instance(), state -> onRecoveryCompleted())
+            .onSignal(RecoveryFailed.class, (state, failed) -> onRecoveryAborted())
+            // Stopped before its recovery completed, e.g. its shard was handed off meanwhile
+            .onSignal(PostStop.instance(), state -> onRecoveryAborted())
+            .onSignal(SnapshotCompleted.class, (state, completed) -> {
+                lastSnapshotAtNanos = System.nanoTime();
+            })
+            .build();
+    }
+
+    private void onRecoveryCompleted() {
+        long now = System.nanoTime();
+        recovering = false;
+        lastSnapshotAtNanos = now;
+        // A long replay will be paid again at the next start: snapshot the next write so that
+        // the next recovery starts from there
+        snapshotNextEvent =
+            snapshots.snapshotsAfterRecovery() &&
+            eventsReplayed >= snapshots.afterRecoveryReplayedEvents();
+        // Events before the replayed ones were covered by the snapshot the recovery started from
+        boolean fromSnapshot = lastSequenceNumber(context) > eventsReplayed;
+        recoveryObserver.recovered(now - startedAtNanos, eventsReplayed, fromSnapshot);
+    }
+
+    private void onRecoveryAborted() {
+        if (recovering) {
+            recovering = false;
+            recoveryObserver.failed(System.nanoTime() - startedAtNanos);
+        }
     }
 
     @Override
     public RetentionCriteria retentionCriteria() {
-        return RetentionCriteria.snapshotEvery(100, 3);
+        var criteria = RetentionCriteria.snapshotEvery(
+            snapshots.every(),
+            snapshots.keepNSnapshots()
+        );
+        return snapshots.deleteEventsOnSnapshot()
+            ? criteria.withDeleteEventsOnSnapshot()
+            : criteria;
+    }
+
+    // On top of the every-n-events snapshots of retentionCriteria (events are only deleted for
+    // those): Pekko snapshots when an event is persisted, so these triggers apply to the next
+    // write, never to an idle entity
+    @Override
+    public boolean shouldSnapshot(GreetingState state, GreetingEvent event, long sequenceNr) {
+        long now = System.nanoTime();
+        boolean snapshot =
+            snapshotNextEvent ||
+            (snapshots.snapshotsOnAge() &&
+                now - lastSnapshotAtNanos >= snapshots.maxAge().toNanos());
+        if (snapshot) {
+            snapshotNextEvent = false;
+            lastSnapshotAtNanos = now;
+        }
+        return snapshot;
     }
 
     @Override
     public Set<String> tagsFor(GreetingEvent event) {
-        int n = Math.abs(this.persistenceId().entityId().hashCode() % tags.size());
-        String selectedTag = tags.get(n);
-        return Collections.singleton(selectedTag);
+        return tags;
     }
 }
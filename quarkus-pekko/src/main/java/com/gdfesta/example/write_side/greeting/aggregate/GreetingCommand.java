@@ -1,6 +1,9 @@
 package com.gdfesta.example.write_side.greeting.aggregate;
 
 import com.gdfesta.example.write_side.JacksonJsonSerialization;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.pekko.Done;
 import org.apache.pekko.actor.typed.ActorRef;
 import org.apache.pekko.pattern.StatusReply;
 
@@ -9,9 +12,78 @@ public sealed interface GreetingCommand extends JacksonJsonSerialization {
 
     sealed interface NonGet extends GreetingCommand {
         ActorRef<StatusReply<GreetingState>> replyTo();
+
+        // Optional client supplied id: a command whose id the entity has recently applied is
+        // answered without being applied again (see RecentCommandIds)
+        String commandId();
+    }
+
+    record Greet(String name, String commandId, ActorRef<StatusReply<GreetingState>> replyTo)
+        implements NonGet {
+        public Greet(String name, ActorRef<StatusReply<GreetingState>> replyTo) {
+            this(name, null, replyTo);
+        }
     }
 
-    record Greet(String name, ActorRef<StatusReply<GreetingState>> replyTo) implements NonGet {}
+    record UnGreet(String commandId, ActorRef<StatusReply<GreetingState>> replyTo)
+        implements NonGet {
+        public UnGreet(ActorRef<StatusReply<GreetingState>> replyTo) {
+            this(null, replyTo);
+        }
+    }
+
+    // Sent by GreetingCommandBatcher: every command still gets its own reply, replyTo is
+    // told once the whole batch has been persisted
+    record Batch(List<NonGet> commands, ActorRef<Done> replyTo) implements GreetingCommand {}
 
-    record UnGreet(ActorRef<StatusReply<GreetingState>> replyTo) implements NonGet {}
+    // Serialized by ordinal (see GreetingSerializer): only append new constants
+    enum Operation {
+        GREET,
+        UNGREET,
+    }
+
+    // Sent for a group of Kafka records of one name: the operations are applied in order with a
+    // single persist, like a Batch, and answered with one reply for all of them. commandIds is
+    // either empty or holds one (nullable) id per operation.
+    record ApplyAll(
+        String name,
+        List<Operation> operations,
+        List<String> commandIds,
+        ActorRef<StatusReply<GreetingState>> replyTo
+    ) implements GreetingCommand {
+        public ApplyAll {
+            commandIds = commandIds == null ? List.of() : commandIds;
+            if (!commandIds.isEmpty() && commandIds.size() != operations.size()) {
+                throw new IllegalArgumentException(
+                    commandIds.size() + " command ids for " + operations.size() + " operations"
+                );
+            }
+        }
+
+        public ApplyAll(
+            String name,
+            List<Operation> operations,
+            ActorRef<StatusReply<GreetingState>> replyTo
+        ) {
+            this(name, operations, List.of(), replyTo);
+        }
+
+        String commandId(int index) {
+            return commandIds.isEmpty() ? null : commandIds.get(index);
+        }
+
+        // The commands only carry the operations for validation: nothing is sent to them
+        List<NonGet> commands() {
+            var commands = new ArrayList<NonGet>(operations.size());
+            for (int i = 0; i < operations.size(); i++) {
+                commands.add(
+                    switch (operations.get(i)) {
+                        case GREET -> new Greet(name, commandId(i), null);
+                        case UNGREET -> new UnGreet(commandId(i), null);
+                    }
+                );
+            }
+            return commands;
+        }
+    }
 }
@@ -0,0 +1,124 @@
+package com.gdfesta.example.write_side.greeting.aggregate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import org.apache.pekko.Done;
+import org.apache.pekko.actor.typed.ActorRef;
+import org.apache.pekko.actor.typed.Behavior;
+import org.apache.pekko.actor.typed.MailboxSelector;
+import org.apache.pekko.actor.typed.Terminated;
+import org.apache.pekko.actor.typed.javadsl.AbstractBehavior;
+import org.apache.pekko.actor.typed.javadsl.ActorContext;
+import org.apache.pekko.actor.typed.javadsl.Behaviors;
+import org.apache.pekko.actor.typed.javadsl.Receive;
+import org.apache.pekko.pattern.StatusReply;
+import org.apache.pekko.persistence.typed.PersistenceId;
+
+/**
+ * Sits in front of a {@link GreetingActorBehavior}: while a write is in flight, incoming
+ * Greet/UnGreet commands are buffered and then handed over as a single {@link
+ * GreetingCommand.Batch}, so a hot entity does one journal write per batch instead of one per
+ * command.
+ */
+public class GreetingCommandBatcher extends AbstractBehavior<Object> {
+
+    public static Behavior<GreetingCommand> create(
+        PersistenceId persistenceId,
+        GreetingTags tags,
+        int maxBatchSize
+    ) {
+        return create(GreetingActorBehavior.create(persistenceId, tags), maxBatchSize);
+    }
+
+    public static Behavior<GreetingCommand> create(
+        Behavior<GreetingCommand> aggregate,
+        int maxBatchSize
+    ) {
+        return Behaviors.<Object>setup(context ->
+            new GreetingCommandBatcher(context, aggregate, maxBatchSize)
+        ).narrow();
+    }
+
+    private final ActorRef<GreetingCommand> aggregate;
+    private final int maxBatchSize;
+    private final ArrayDeque<GreetingCommand.NonGet> buffer = new ArrayDeque<>();
+    private int batchesInFlight = 0;
+
+    private GreetingCommandBatcher(
+        ActorContext<Object> context,
+        Behavior<GreetingCommand> aggregate,
+        int maxBatchSize
+    ) {
+        super(context);
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Max batch size must be at least 1");
+        }
+        // On the entity dispatcher and with the entity mailbox, like the batcher itself
+        this.aggregate = context.spawn(
+            aggregate,
+            "aggregate",
+            MailboxSelector.fromConfig("greeting.aggregate.mailbox").withDispatcherSameAsParent()
+        );
+        this.maxBatchSize = maxBatchSize;
+        // Stop together with the aggregate, e.g. after a journal failure (onAggregateStopped)
+        context.watch(this.aggregate);
+    }
+
+    @Override
+    public Receive<Object> createReceive() {
+        return newReceiveBuilder()
+            .onMessage(GreetingCommand.NonGet.class, this::onNonGet)
+            .onMessage(GreetingCommand.Get.class, this::afterBuffered)
+            .onMessage(GreetingCommand.ApplyAll.class, this::afterBuffered)
+            .onMessage(Done.class, done -> onBatchPersisted())
+            .onSignal(Terminated.class, terminated -> onAggregateStopped())
+            .build();
+    }
+
+    private Behavior<Object> onAggregateStopped() {
+        // Buffered commands were never sent: fail them now rather than let their asks time out
+        var error = StatusReply.<GreetingState>error(
+            "Greeting entity " + getContext().getSelf().path().name() + " stopped"
+        );
+        while (!buffer.isEmpty()) {
+            buffer.poll().replyTo().tell(error);
+        }
+        return Behaviors.stopped();
+    }
+
+    private Behavior<Object> onNonGet(GreetingCommand.NonGet command) {
+        buffer.add(command);
+        if (batchesInFlight == 0) {
+            sendBatch();
+        }
+        return this;
+    }
+
+    private Behavior<Object> afterBuffered(GreetingCommand command) {
+        // Commands received before this one must be applied before it
+        while (!buffer.isEmpty()) {
+            sendBatch();
+        }
+        aggregate.tell(command);
+        return this;
+    }
+
+    private Behavior<Object> onBatchPersisted() {
+        batchesInFlight--;
+        if (batchesInFlight == 0 && !buffer.isEmpty()) {
+            sendBatch();
+        }
+        return this;
+    }
+
+    private void sendBatch() {
+        var commands = new ArrayList<GreetingCommand.NonGet>(
+            Math.min(buffer.size(), maxBatchSize)
+        );
+        while (!buffer.isEmpty() && commands.size() < maxBatchSize) {
+            commands.add(buffer.poll());
+        }
+        aggregate.tell(new GreetingCommand.Batch(commands, getContext().getSelf().narrow()));
+        batchesInFlight++;
+    }
+}
@@ -3,7 +3,18 @@ package com.gdfesta.example.write_side.greeting.aggregate;
 import com.gdfesta.example.write_side.JacksonJsonSerialization;
 
 public sealed interface GreetingEvent extends JacksonJsonSerialization {
-    record Greeted(String name) implements GreetingEvent {}
+    // Id of the command the event was persisted for, null when the command carried none
+    String commandId();
 
-    record UnGreeted() implements GreetingEvent {}
+    record Greeted(String name, String commandId) implements GreetingEvent {
+        public Greeted(String name) {
+            this(name, null);
+        }
+    }
+
+    record UnGreeted(String commandId) implements GreetingEvent {
+        public UnGreeted() {
+            this(null);
+        }
+    }
 }
@@ -6,8 +6,19 @@ import java.util.List;
 public sealed interface GreetingState
     extends JacksonJsonSerialization
     permits OpenState, CloseState {
+    // Greetings a name can receive before it closes
+    int MAX_COUNT = 5;
+
     int count();
 
+    RecentCommandIds recentCommandIds();
+
+    // A command whose id was already applied produces no events: it is answered with the
+    // current state, as the first delivery was
+    default boolean isDuplicate(GreetingCommand.NonGet command) {
+        return recentCommandIds().contains(command.commandId());
+    }
+
     List<GreetingEvent> onCommand(GreetingCommand.NonGet command);
 
     GreetingState onEvent(GreetingEvent event);
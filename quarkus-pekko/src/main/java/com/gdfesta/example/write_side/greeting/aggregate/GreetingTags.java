@@ -0,0 +1,32 @@
+package com.gdfesta.example.write_side.greeting.aggregate;
+
+import com.typesafe.config.Config;
+import java.util.List;
+import java.util.stream.IntStream;
+
+public record GreetingTags(String prefix, int count) {
+    public GreetingTags {
+        if (count < 1) {
+            throw new IllegalArgumentException("Tag count must be at least 1, was " + count);
+        }
+    }
+
+    public static GreetingTags fromConfig(Config config) {
+        var tags = config.getConfig("greeting.tags");
+        return new GreetingTags(tags.getString("prefix"), tags.getInt("count"));
+    }
+
+    public List<String> all() {
+        return IntStream.range(0, count).mapToObj(this::tag).toList();
+    }
+
+    public String tag(int slice) {
+        return prefix + slice;
+    }
+
+    public String tagFor(String entityId) {
+        // Same mapping as the original fixed list of five tags, so count = 5 keeps every
+        // entity on the tag it has always been written with.
+        return tag(Math.abs(entityId.hashCode() % count));
+    }
+}
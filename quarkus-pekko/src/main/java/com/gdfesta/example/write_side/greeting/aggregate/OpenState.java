@@ -2,31 +2,50 @@ package com.gdfesta.example.write_side.greeting.aggregate;
 
 import java.util.List;
 
-public record OpenState(int count, int maxCount) implements GreetingState {
+public record OpenState(int count, int maxCount, RecentCommandIds recentCommandIds)
+    implements GreetingState {
+    public OpenState {
+        if (recentCommandIds == null) {
+            recentCommandIds = RecentCommandIds.EMPTY;
+        }
+    }
+
+    public OpenState(int count, int maxCount) {
+        this(count, maxCount, RecentCommandIds.EMPTY);
+    }
+
     @Override
     public List<GreetingEvent> onCommand(GreetingCommand.NonGet command) {
+        if (isDuplicate(command)) {
+            return List.of();
+        }
         return switch (command) {
-            case GreetingCommand.Greet greet -> List.of(new GreetingEvent.Greeted(greet.name()));
-            case GreetingCommand.UnGreet ignored -> List.of(new GreetingEvent.UnGreeted());
+            case GreetingCommand.Greet greet -> List.of(
+                new GreetingEvent.Greeted(greet.name(), greet.commandId())
+            );
+            case GreetingCommand.UnGreet unGreet -> List.of(
+                new GreetingEvent.UnGreeted(unGreet.commandId())
+            );
         };
     }
 
     @Override
     public GreetingState onEvent(GreetingEvent event) {
+        var recent = recentCommandIds.add(event.commandId());
         return switch (event) {
-            case GreetingEvent.Greeted ignored -> incremented();
-            case GreetingEvent.UnGreeted ignored -> decremented();
+            case GreetingEvent.Greeted ignored -> incremented(recent);
+            case GreetingEvent.UnGreeted ignored -> decremented(recent);
         };
     }
 
-    private GreetingState incremented() {
+    private GreetingState incremented(RecentCommandIds recent) {
         return (count + 1 == maxCount)
-            ? new CloseState(count + 1)
-            : new OpenState(count + 1, maxCount);
+            ? new CloseState(count + 1, recent)
+            : new OpenState(count + 1, maxCount, recent);
     }
 
-    private GreetingState decremented() {
+    private GreetingState decremented(RecentCommandIds recent) {
         int newCount = Math.max(count - 1, 0);
-        return new OpenState(newCount, maxCount);
+        return new OpenState(newCount, maxCount, recent);
     }
 }
@@ -0,0 +1,40 @@
+package com.gdfesta.example.write_side.greeting.aggregate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Ids of the last CAPACITY commands applied to an entity, oldest first. They are part of the
+// state, and so of its snapshots, which lets a redelivered command be recognised after a
+// passivation or a restart too; an id older than the window is forgotten.
+public record RecentCommandIds(List<String> ids) {
+    public static final int CAPACITY = 64;
+
+    // Ids are kept in the state, and so in its snapshots, so they are capped to keep them small
+    public static final int MAX_ID_LENGTH = 128;
+
+    public static final RecentCommandIds EMPTY = new RecentCommandIds(List.of());
+
+    public RecentCommandIds {
+        ids = ids == null ? List.of() : List.copyOf(ids);
+    }
+
+    // Checked by every path that accepts ids from clients: the REST API and the Kafka consumers
+    public static boolean isValidId(String commandId) {
+        return commandId != null && !commandId.isBlank() && commandId.length() <= MAX_ID_LENGTH;
+    }
+
+    public boolean contains(String commandId) {
+        return commandId != null && ids.contains(commandId);
+    }
+
+    public RecentCommandIds add(String commandId) {
+        if (commandId == null) {
+            return this;
+        }
+        int evicted = Math.max(ids.size() + 1 - CAPACITY, 0);
+        var next = new ArrayList<String>(ids.size() + 1 - evicted);
+        next.addAll(ids.subList(evicted, ids.size()));
+        next.add(commandId);
+        return new RecentCommandIds(next);
+    }
+}
@@ -0,0 +1,14 @@
+package com.gdfesta.example.write_side.greeting.aggregate;
+
+// Told by every GreetingActorBehavior as its recovery starts and ends, on the entity's thread:
+// implementations must not block
+public interface RecoveryObserver {
+    RecoveryObserver NONE = new RecoveryObserver() {};
+
+    default void started() {}
+
+    // fromSnapshot is false when every event of the entity had to be replayed
+    default void recovered(long durationNanos, int eventsReplayed, boolean fromSnapshot) {}
+
+    default void failed(long durationNanos) {}
+}
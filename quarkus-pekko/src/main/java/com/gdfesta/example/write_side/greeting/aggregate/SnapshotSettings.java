@@ -0,0 +1,54 @@
+package com.gdfesta.example.write_side.greeting.aggregate;
+
+import com.typesafe.config.Config;
+import java.time.Duration;
+
+public record SnapshotSettings(
+    int every,
+    int keepNSnapshots,
+    boolean deleteEventsOnSnapshot,
+    Duration maxAge,
+    int afterRecoveryReplayedEvents
+) {
+    // The values GreetingActorBehavior always used: snapshotEvery(100, 3), nothing else
+    public static final SnapshotSettings DEFAULT = new SnapshotSettings(
+        100,
+        3,
+        false,
+        Duration.ZERO,
+        0
+    );
+
+    public SnapshotSettings {
+        if (every < 1) {
+            throw new IllegalArgumentException("Snapshot every must be at least 1, was " + every);
+        }
+        if (keepNSnapshots < 1) {
+            throw new IllegalArgumentException(
+                "Keep n snapshots must be at least 1, was " + keepNSnapshots
+            );
+        }
+        if (maxAge.isNegative() || afterRecoveryReplayedEvents < 0) {
+            throw new IllegalArgumentException("Snapshot triggers must not be negative");
+        }
+    }
+
+    public static SnapshotSettings fromConfig(Config config) {
+        var snapshot = config.getConfig("greeting.aggregate.snapshot");
+        return new SnapshotSettings(
+            snapshot.getInt("every"),
+            snapshot.getInt("keep-n-snapshots"),
+            snapshot.getBoolean("delete-events-on-snapshot"),
+            snapshot.getDuration("max-age"),
+            snapshot.getInt("after-recovery-replayed-events")
+        );
+    }
+
+    public boolean snapshotsOnAge() {
+        return !maxAge.isZero();
+    }
+
+    public boolean snapshotsAfterRecovery() {
+        return afterRecoveryReplayedEvents > 0;
+    }
+}
@@ -0,0 +1,36 @@
+package com.gdfesta.example.write_side.greeting.services;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// Counts the asks of each entity that are still waiting for a reply on this node. Only names
+// with requests in flight have an entry, so the map stays as small as the current load.
+class EntityInFlightLimiter {
+
+    private final int maxInFlight;
+    private final ConcurrentHashMap<String, Integer> inFlight = new ConcurrentHashMap<>();
+
+    EntityInFlightLimiter(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException(
+                "Max in-flight asks per entity must be at least 1, was " + maxInFlight
+            );
+        }
+        this.maxInFlight = maxInFlight;
+    }
+
+    boolean tryAcquire(String name) {
+        if (inFlight.merge(name, 1, Integer::sum) > maxInFlight) {
+            release(name);
+            return false;
+        }
+        return true;
+    }
+
+    void release(String name) {
+        inFlight.computeIfPresent(name, (key, count) -> count == 1 ? null : count - 1);
+    }
+
+    int inFlight(String name) {
+        return inFlight.getOrDefault(name, 0);
+    }
+}
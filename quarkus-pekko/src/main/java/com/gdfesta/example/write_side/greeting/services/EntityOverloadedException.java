@@ -0,0 +1,10 @@
+package com.gdfesta.example.write_side.greeting.services;
+
+// The entity already has the maximum number of asks in flight: the request was rejected
+// without being sent, so retrying it later is safe
+public class EntityOverloadedException extends RuntimeException {
+
+    public EntityOverloadedException(String name) {
+        super("Too many requests in flight for " + name);
+    }
+}
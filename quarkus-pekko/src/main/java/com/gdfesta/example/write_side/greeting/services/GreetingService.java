@@ -1,14 +1,25 @@
 package com.gdfesta.example.write_side.greeting.services;
 
+import com.gdfesta.example.metrics.GreetingServiceMetrics;
+import com.gdfesta.example.metrics.GreetingServiceMetrics.Operation;
 import com.gdfesta.example.write_side.greeting.aggregate.GreetingActorBehavior;
 import com.gdfesta.example.write_side.greeting.aggregate.GreetingCommand;
 import com.gdfesta.example.write_side.greeting.aggregate.GreetingState;
+import com.gdfesta.quarkus.pekko.AskUni;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import org.apache.pekko.actor.typed.ActorRef;
 import org.apache.pekko.cluster.sharding.typed.javadsl.ClusterSharding;
-import org.apache.pekko.pattern.StatusReply;
+import org.apache.pekko.cluster.sharding.typed.javadsl.EntityRef;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 @ApplicationScoped
 public class GreetingService {
@@ -16,37 +27,118 @@ public class GreetingService {
     @Inject
     ClusterSharding sharding;
 
+    @Inject
+    GreetingServiceMetrics metrics;
+
+    @ConfigProperty(name = "greeting.ask-timeout", defaultValue = "5S")
+    Duration askTimeout;
+
+    @ConfigProperty(name = "greeting.entity-ref-cache.max-size", defaultValue = "10000")
+    long entityRefCacheMaxSize;
+
+    @ConfigProperty(name = "greeting.overload.max-in-flight-per-entity", defaultValue = "64")
+    int maxInFlightPerEntity;
+
+    // Bounds the asks queued in one entity's mailbox: once a hot name reaches the limit further
+    // requests fail at once instead of waiting for the ask timeout
+    private EntityInFlightLimiter inFlightLimiter;
+
+    // An EntityRef only names the entity, it stays valid wherever the entity is (re)started,
+    // so hot names skip the lookup and allocation of entityRefFor on every request
+    private Cache<String, EntityRef<GreetingCommand>> entityRefs;
+
+    private final Function<String, EntityRef<GreetingCommand>> newEntityRef = name ->
+        sharding.entityRefFor(GreetingActorBehavior.ENTITY_TYPE_KEY, name);
+
+    @PostConstruct
+    void init() {
+        entityRefs = Caffeine.newBuilder().maximumSize(entityRefCacheMaxSize).build();
+        inFlightLimiter = new EntityInFlightLimiter(maxInFlightPerEntity);
+    }
+
+    // All operations fail with EntityOverloadedException, without asking, while the entity
+    // has too many asks in flight
     public Uni<GreetingState> get(String name) {
-        var entityRef = sharding.entityRefFor(GreetingActorBehavior.ENTITY_TYPE_KEY, name);
-        return Uni.createFrom()
-            .completionStage(entityRef.ask(GreetingCommand.Get::new, Duration.ofSeconds(5)));
+        if (!inFlightLimiter.tryAcquire(name)) {
+            return overloaded(name, Operation.GET);
+        }
+        return AskUni.fromAsk(ask(name, Operation.GET, GreetingCommand.Get::new));
     }
 
     public Uni<GreetingState> greet(String name) {
-        var entityRef = sharding.entityRefFor(GreetingActorBehavior.ENTITY_TYPE_KEY, name);
-        return Uni.createFrom()
-            .completionStage(
-                entityRef.<StatusReply<GreetingState>>ask(
-                    replyTo -> new GreetingCommand.Greet(name, replyTo),
-                    Duration.ofSeconds(5)
-                )
+        return greet(name, null);
+    }
+
+    // A non-null commandId makes the operation idempotent: retrying it with the same id answers
+    // the current state instead of greeting again
+    public Uni<GreetingState> greet(String name, String commandId) {
+        if (!inFlightLimiter.tryAcquire(name)) {
+            return overloaded(name, Operation.GREET);
+        }
+        return AskUni.fromStatusReply(
+            ask(name, Operation.GREET, replyTo ->
+                new GreetingCommand.Greet(name, commandId, replyTo)
             )
-            .flatMap(this::toUni);
+        );
     }
 
     public Uni<GreetingState> ungreet(String name) {
-        var entityRef = sharding.entityRefFor(GreetingActorBehavior.ENTITY_TYPE_KEY, name);
-        return Uni.createFrom()
-            .completionStage(entityRef.ask(GreetingCommand.UnGreet::new, Duration.ofSeconds(5)))
-            .flatMap(this::toUni);
-    }
-
-    private Uni<GreetingState> toUni(StatusReply<GreetingState> statusReply) {
-        if (statusReply.isSuccess()) {
-            var state = statusReply.getValue();
-            return Uni.createFrom().item(state);
-        } else {
-            return Uni.createFrom().failure(statusReply.getError());
+        return ungreet(name, null);
+    }
+
+    public Uni<GreetingState> ungreet(String name, String commandId) {
+        if (!inFlightLimiter.tryAcquire(name)) {
+            return overloaded(name, Operation.UNGREET);
+        }
+        return AskUni.fromStatusReply(
+            ask(name, Operation.UNGREET, replyTo -> new GreetingCommand.UnGreet(commandId, replyTo))
+        );
+    }
+
+    public Uni<GreetingState> applyAll(String name, List<GreetingCommand.Operation> operations) {
+        return applyAll(name, operations, List.of());
+    }
+
+    // Applies the operations in order with a single persist and returns the final state. A
+    // rejected operation is skipped, not a failure: only the ask itself can fail. commandIds is
+    // empty or has one (nullable) id per operation.
+    public Uni<GreetingState> applyAll(
+        String name,
+        List<GreetingCommand.Operation> operations,
+        List<String> commandIds
+    ) {
+        if (!inFlightLimiter.tryAcquire(name)) {
+            return overloaded(name, Operation.APPLY_ALL);
         }
+        return AskUni.fromStatusReply(
+            ask(name, Operation.APPLY_ALL, replyTo ->
+                new GreetingCommand.ApplyAll(name, operations, commandIds, replyTo)
+            )
+        );
+    }
+
+    // The slot is freed when the ask completes (reply or timeout), whether or not anyone
+    // subscribed to the returned Uni
+    private <R> CompletionStage<R> ask(
+        String name,
+        Operation operation,
+        Function<ActorRef<R>, GreetingCommand> message
+    ) {
+        long startNanos = System.nanoTime();
+        return entityRef(name)
+            .ask(message, askTimeout)
+            .whenComplete((reply, failure) -> {
+                inFlightLimiter.release(name);
+                metrics.asked(operation, startNanos, reply, failure);
+            });
+    }
+
+    private Uni<GreetingState> overloaded(String name, Operation operation) {
+        metrics.overloaded(operation);
+        return Uni.createFrom().failure(new EntityOverloadedException(name));
+    }
+
+    private EntityRef<GreetingCommand> entityRef(String name) {
+        return entityRefs.get(name, newEntityRef);
     }
 }
@@ -0,0 +1,96 @@
+package com.gdfesta.quarkus.pekko;
+
+import com.typesafe.config.Config;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.arc.Arc;
+import org.apache.pekko.actor.ActorSystem;
+import org.apache.pekko.persistence.jdbc.db.SlickDatabase;
+import org.apache.pekko.persistence.jdbc.db.SlickDatabaseProvider;
+import org.jboss.logging.Logger;
+import scala.Option;
+import slick.jdbc.JdbcBackend;
+import slick.jdbc.JdbcBackend$;
+import slick.jdbc.JdbcProfile;
+import slick.util.AsyncExecutor;
+import slick.util.AsyncExecutor$;
+
+/**
+ * pekko-persistence-jdbc database provider ({@code pekko-persistence-jdbc.database-provider-fqcn})
+ * that runs the journal, snapshot store and read journal on the Quarkus {@link AgroalDataSource}
+ * instead of opening a HikariCP pool per plugin from {@code slick.db}. The plugins share one
+ * Slick database: its {@code slick.db.numThreads} threads run their statements and at most
+ * {@code slick.db.maxConnections} connections are taken from the Agroal pool at once.
+ *
+ * <p>The pool belongs to Quarkus, so the plugins are never allowed to close it; only the Slick
+ * threads are stopped when the actor system terminates.
+ */
+public class AgroalSlickDatabaseProvider implements SlickDatabaseProvider {
+
+    private static final Logger LOG = Logger.getLogger(AgroalSlickDatabaseProvider.class);
+
+    private final ActorSystem system;
+
+    // Created by the first plugin that starts, guarded by this
+    private SlickDatabase database;
+
+    public AgroalSlickDatabaseProvider(ActorSystem system) {
+        this.system = system;
+    }
+
+    @Override
+    public synchronized SlickDatabase database(Config config) {
+        if (database == null) {
+            database = create(config.getConfig("slick"));
+        }
+        return database;
+    }
+
+    private SlickDatabase create(Config slick) {
+        var db = slick.getConfig("db");
+        int threads = db.getInt("numThreads");
+        int maxConnections = db.getInt("maxConnections");
+        int queueSize = db.hasPath("queueSize") ? db.getInt("queueSize") : 1000;
+        AsyncExecutor executor = AsyncExecutor$.MODULE$.apply(
+            "pekko-persistence-jdbc",
+            threads,
+            threads,
+            queueSize,
+            maxConnections
+        );
+        var dataSource = Arc.container().instance(AgroalDataSource.class).get();
+        var slickDatabase = JdbcBackend$.MODULE$.Database()
+            .forDataSource(dataSource, Option.<Object>apply(maxConnections), executor, false);
+        system.registerOnTermination(() -> {
+            // Not slickDatabase.close(): it would close the data source as well
+            try {
+                executor.close();
+            } catch (Exception e) {
+                LOG.warn("Failed to stop the pekko-persistence-jdbc Slick threads", e);
+            }
+        });
+        LOG.infof(
+            "Journal plugins use the Quarkus datasource (%d threads, at most %d connections)",
+            threads,
+            maxConnections
+        );
+        return new SharedDatabase(slickDatabase, profile(slick.getString("profile")));
+    }
+
+    private static JdbcProfile profile(String className) {
+        // Slick profiles are Scala objects: the class name ends with $ and MODULE$ holds it
+        try {
+            return (JdbcProfile) Class.forName(className).getField("MODULE$").get(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot load Slick profile " + className, e);
+        }
+    }
+
+    private record SharedDatabase(JdbcBackend.JdbcDatabaseDef database, JdbcProfile profile)
+        implements SlickDatabase {
+        // Other plugins still use it, and the data source belongs to Quarkus
+        @Override
+        public boolean allowShutdown() {
+            return false;
+        }
+    }
+}
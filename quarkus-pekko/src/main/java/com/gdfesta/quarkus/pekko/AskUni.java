@@ -0,0 +1,88 @@
+package com.gdfesta.quarkus.pekko;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.operators.AbstractUni;
+import io.smallrye.mutiny.subscription.UniSubscriber;
+import io.smallrye.mutiny.subscription.UniSubscription;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
+import org.apache.pekko.pattern.StatusReply;
+
+/**
+ * Exposes the reply of a Pekko ask as a {@link Uni}, unwrapping a {@link StatusReply} in the
+ * same step. Equivalent to {@code Uni.createFrom().completionStage(ask)} followed by a
+ * {@code flatMap} that turns the status into an item or a failure, with one subscription object
+ * per subscriber instead of an operator chain and an intermediate {@code Uni} per reply.
+ *
+ * <p>Like {@code completionStage(...)} it does not send anything: the ask already went out,
+ * every subscriber observes the same reply.
+ */
+public final class AskUni<T> extends AbstractUni<T> {
+
+    private final CompletionStage<?> reply;
+    private final boolean statusReply;
+
+    private AskUni(CompletionStage<?> reply, boolean statusReply) {
+        this.reply = reply;
+        this.statusReply = statusReply;
+    }
+
+    public static <T> Uni<T> fromAsk(CompletionStage<T> reply) {
+        return new AskUni<>(reply, false);
+    }
+
+    // A StatusReply error becomes a failure carrying StatusReply#getError
+    public static <T> Uni<T> fromStatusReply(CompletionStage<StatusReply<T>> reply) {
+        return new AskUni<>(reply, true);
+    }
+
+    @Override
+    public void subscribe(UniSubscriber<? super T> subscriber) {
+        var subscription = new AskSubscription<T>(subscriber, statusReply);
+        subscriber.onSubscribe(subscription);
+        reply.whenComplete(subscription);
+    }
+
+    private static final class AskSubscription<T>
+        implements UniSubscription, BiConsumer<Object, Throwable> {
+
+        private final UniSubscriber<? super T> downstream;
+        private final boolean statusReply;
+        private volatile boolean cancelled;
+
+        AskSubscription(UniSubscriber<? super T> downstream, boolean statusReply) {
+            this.downstream = downstream;
+            this.statusReply = statusReply;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void accept(Object value, Throwable failure) {
+            if (cancelled) {
+                return;
+            }
+            if (failure != null) {
+                downstream.onFailure(
+                    failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause()
+                        : failure
+                );
+            } else if (!statusReply) {
+                downstream.onItem((T) value);
+            } else {
+                var status = (StatusReply<T>) value;
+                if (status.isSuccess()) {
+                    downstream.onItem(status.getValue());
+                } else {
+                    downstream.onFailure(status.getError());
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.gdfesta.quarkus.pekko;
+
+import com.typesafe.config.Config;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.apache.pekko.NotUsed;
+import org.apache.pekko.actor.typed.ActorSystem;
+import org.apache.pekko.actor.typed.DispatcherSelector;
+import org.apache.pekko.japi.Pair;
+import org.apache.pekko.pattern.Patterns;
+import org.apache.pekko.persistence.query.Offset;
+import org.apache.pekko.persistence.query.Sequence;
+import org.apache.pekko.persistence.typed.PersistenceId;
+import org.apache.pekko.projection.eventsourced.EventEnvelope;
+import org.apache.pekko.projection.javadsl.SourceProvider;
+import org.apache.pekko.serialization.Serialization;
+import org.apache.pekko.serialization.SerializationExtension;
+import org.apache.pekko.stream.javadsl.Source;
+
+/**
+ * Reads {@code event_journal} directly for a range of persistence id slices of one entity type,
+ * ordered by {@code ordering}. Unlike eventsByTag it needs no {@code event_tag} join.
+ *
+ * <p>A poll reads only the worker's own slices, through the
+ * {@code (persistence_id_slice(persistence_id), ordering)} index: one seek per slice from the
+ * last ordering read, merged by ordering. It stops at {@link JournalSequence#maxOrdering()}, so
+ * an event whose transaction commits after a higher ordering became visible is not skipped.
+ */
+public class EventsBySliceSourceProvider<Event>
+    extends SourceProvider<Offset, EventEnvelope<Event>> {
+
+    private static final String EVENTS_SQL = """
+        SELECT e.ordering, e.persistence_id, e.sequence_number, e.write_timestamp,
+               e.event_ser_id, e.event_ser_manifest, e.event_payload
+        FROM generate_series(?, ?) AS s(slice)
+        CROSS JOIN LATERAL (
+            SELECT *
+            FROM event_journal
+            WHERE persistence_id_slice(persistence_id) = s.slice
+              AND ordering > ? AND ordering <= ?
+              AND starts_with(persistence_id, ?)
+              AND NOT deleted
+            ORDER BY ordering
+            LIMIT ?
+        ) e
+        ORDER BY e.ordering
+        LIMIT ?
+        """;
+
+    public record Settings(
+        int batchSize,
+        Duration pollInterval,
+        String dispatcher,
+        String entityType
+    ) {
+        public static Settings fromConfig(Config config, String entityType) {
+            return new Settings(
+                config.getInt("batch-size"),
+                config.getDuration("poll-interval"),
+                config.getString("use-dispatcher"),
+                entityType
+            );
+        }
+    }
+
+    // Position: every event of the range up to it was read
+    private record Batch<Event>(long position, List<EventEnvelope<Event>> envelopes) {}
+
+    private final ActorSystem<?> system;
+    private final DataSource dataSource;
+    private final JournalSequence journalSequence;
+    private final SliceRange sliceRange;
+    private final Settings settings;
+    private final Serialization serialization;
+    private final Executor executor;
+
+    public EventsBySliceSourceProvider(
+        ActorSystem<?> system,
+        DataSource dataSource,
+        JournalSequence journalSequence,
+        SliceRange sliceRange,
+        Settings settings
+    ) {
+        this.system = system;
+        this.dataSource = dataSource;
+        this.journalSequence = journalSequence;
+        this.sliceRange = sliceRange;
+        this.settings = settings;
+        this.serialization = SerializationExtension.get(system.classicSystem());
+        this.executor = system
+            .dispatchers()
+            .lookup(DispatcherSelector.fromConfig(settings.dispatcher()));
+    }
+
+    public SliceRange sliceRange() {
+        return sliceRange;
+    }
+
+    @Override
+    public CompletionStage<Source<EventEnvelope<Event>, NotUsed>> source(
+        Supplier<CompletionStage<Optional<Offset>>> offset
+    ) {
+        return offset
+            .get()
+            .thenApply(stored -> {
+                long fromOrdering = stored.map(o -> ((Sequence) o).value()).orElse(0L);
+                return Source.unfoldAsync(fromOrdering, this::nextBatch).mapConcat(batch -> batch);
+            });
+    }
+
+    @Override
+    public Offset extractOffset(EventEnvelope<Event> envelope) {
+        return envelope.offset();
+    }
+
+    @Override
+    public long extractCreationTime(EventEnvelope<Event> envelope) {
+        return envelope.timestamp();
+    }
+
+    private CompletionStage<Optional<Pair<Long, List<EventEnvelope<Event>>>>> nextBatch(
+        long fromOrdering
+    ) {
+        return CompletableFuture.supplyAsync(() -> read(fromOrdering), executor).thenCompose(
+            batch -> {
+                var next = Optional.of(Pair.create(batch.position(), batch.envelopes()));
+                if (batch.envelopes().size() < settings.batchSize()) {
+                    // Caught up: poll again after the interval
+                    return Patterns.after(
+                        settings.pollInterval(),
+                        system.classicSystem().scheduler(),
+                        system.executionContext(),
+                        () -> CompletableFuture.completedFuture(next)
+                    );
+                }
+                return CompletableFuture.completedFuture(next);
+            }
+        );
+    }
+
+    private Batch<Event> read(long fromOrdering) {
+        long untilOrdering = journalSequence.maxOrdering();
+        if (untilOrdering <= fromOrdering) {
+            return new Batch<>(fromOrdering, List.of());
+        }
+        var envelopes = query(fromOrdering, untilOrdering);
+        // A partial batch holds every event of the range up to untilOrdering
+        long position = envelopes.size() < settings.batchSize()
+            ? untilOrdering
+            : ((Sequence) envelopes.getLast().offset()).value();
+        return new Batch<>(position, envelopes);
+    }
+
+    private List<EventEnvelope<Event>> query(long fromOrdering, long untilOrdering) {
+        try (
+            var connection = dataSource.getConnection();
+            var statement = connection.prepareStatement(EVENTS_SQL)
+        ) {
+            statement.setInt(1, sliceRange.min());
+            statement.setInt(2, sliceRange.max());
+            statement.setLong(3, fromOrdering);
+            statement.setLong(4, untilOrdering);
+            statement.setString(5, settings.entityType() + PersistenceId.DefaultSeparator());
+            statement.setInt(6, settings.batchSize());
+            statement.setInt(7, settings.batchSize());
+            try (var rows = statement.executeQuery()) {
+                var envelopes = new ArrayList<EventEnvelope<Event>>(settings.batchSize());
+                while (rows.next()) {
+                    @SuppressWarnings("unchecked")
+                    var event = (Event) serialization
+                        .deserialize(
+                            rows.getBytes("event_payload"),
+                            rows.getInt("event_ser_id"),
+                            rows.getString("event_ser_manifest")
+                        )
+                        .get();
+                    envelopes.add(
+                        EventEnvelope.create(
+                            Offset.sequence(rows.getLong("ordering")),
+                            rows.getString("persistence_id"),
+                            rows.getLong("sequence_number"),
+                            event,
+                            rows.getLong("write_timestamp")
+                        )
+                    );
+                }
+                return envelopes;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(
+                "Failed to read events for slices " + sliceRange.key(),
+                e
+            );
+        }
+    }
+}
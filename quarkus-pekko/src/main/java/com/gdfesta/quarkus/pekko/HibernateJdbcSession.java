@@ -4,14 +4,20 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.pekko.japi.function.Function;
 import org.apache.pekko.projection.jdbc.JdbcSession;
 import org.hibernate.Session;
+import org.jboss.logging.Logger;
 
 public class HibernateJdbcSession implements JdbcSession {
 
+    private static final Logger LOG = Logger.getLogger(HibernateJdbcSession.class);
+
     public final EntityManager entityManager;
     private final EntityTransaction transaction;
+    private final List<Runnable> afterCommitActions = new ArrayList<>();
 
     public HibernateJdbcSession(EntityManager entityManager) {
         this.entityManager = entityManager;
@@ -33,13 +39,30 @@ public class HibernateJdbcSession implements JdbcSession {
         });
     }
 
+    // Runs once the transaction committed, e.g. to invalidate caches of the rows written.
+    // Discarded on rollback.
+    public void afterCommit(Runnable action) {
+        afterCommitActions.add(action);
+    }
+
     @Override
     public void commit() {
         transaction.commit();
+        for (var action : afterCommitActions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                // Must not fail the commit: the projection would retry envelopes whose
+                // writes are already committed
+                LOG.warn("After-commit action failed", e);
+            }
+        }
+        afterCommitActions.clear();
     }
 
     @Override
     public void rollback() {
+        afterCommitActions.clear();
         // propagates rollback call if transaction is active
         if (transaction.isActive()) transaction.rollback();
     }
@@ -0,0 +1,86 @@
+package com.gdfesta.quarkus.pekko;
+
+import com.typesafe.config.Config;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.pekko.actor.ActorRef;
+import org.apache.pekko.actor.ActorSystem;
+import org.apache.pekko.dispatch.Envelope;
+import org.apache.pekko.dispatch.MailboxType;
+import org.apache.pekko.dispatch.MessageQueue;
+import org.apache.pekko.dispatch.UnboundedMessageQueueSemantics;
+import scala.Option;
+
+/**
+ * Unbounded mailbox that keeps a running total of the messages waiting in every mailbox created
+ * from the same config section, under the name set by its {@code queue-metric} key. Reading the
+ * total is cheap enough for a metrics gauge; per-actor depths are not kept.
+ */
+public class InstrumentedMailbox implements MailboxType {
+
+    private static final ConcurrentHashMap<String, LongAdder> QUEUED = new ConcurrentHashMap<>();
+
+    private final LongAdder queued;
+
+    public InstrumentedMailbox(ActorSystem.Settings settings, Config config) {
+        this.queued = QUEUED.computeIfAbsent(config.getString("queue-metric"), name ->
+            new LongAdder()
+        );
+    }
+
+    public static long queued(String queueMetric) {
+        var queued = QUEUED.get(queueMetric);
+        return queued == null ? 0 : queued.sum();
+    }
+
+    @Override
+    public MessageQueue create(Option<ActorRef> owner, Option<ActorSystem> system) {
+        return new CountingQueue(queued);
+    }
+
+    private static final class CountingQueue
+        implements MessageQueue, UnboundedMessageQueueSemantics {
+
+        private final Queue<Envelope> queue = new ConcurrentLinkedQueue<>();
+        private final LongAdder queued;
+
+        private CountingQueue(LongAdder queued) {
+            this.queued = queued;
+        }
+
+        @Override
+        public void enqueue(ActorRef receiver, Envelope handle) {
+            // Counted first, so a concurrent dequeue never takes the total below zero
+            queued.increment();
+            queue.offer(handle);
+        }
+
+        @Override
+        public Envelope dequeue() {
+            var envelope = queue.poll();
+            if (envelope != null) {
+                queued.decrement();
+            }
+            return envelope;
+        }
+
+        @Override
+        public int numberOfMessages() {
+            return queue.size();
+        }
+
+        @Override
+        public boolean hasMessages() {
+            return !queue.isEmpty();
+        }
+
+        @Override
+        public void cleanUp(ActorRef owner, MessageQueue deadLetters) {
+            for (var envelope = dequeue(); envelope != null; envelope = dequeue()) {
+                deadLetters.enqueue(owner, envelope);
+            }
+        }
+    }
+}
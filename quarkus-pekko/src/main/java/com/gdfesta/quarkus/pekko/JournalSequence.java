@@ -0,0 +1,134 @@
+package com.gdfesta.quarkus.pekko;
+
+import com.typesafe.config.Config;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.apache.pekko.actor.typed.ActorSystem;
+import org.apache.pekko.actor.typed.DispatcherSelector;
+import org.jboss.logging.Logger;
+
+/**
+ * Tracks, once per node, the highest {@code event_journal} ordering below which every row is
+ * visible, like the JournalSequenceActor of the eventsByTag read journal. Slice readers only
+ * read up to it, so an event whose transaction commits after a higher ordering is visible is not
+ * skipped: the ordering stays a gap until it shows up or {@code gap-timeout} passes.
+ *
+ * <p>Walks only the ordering index, every {@code poll-interval} on the given dispatcher. Tracking
+ * starts {@code sequence-batch-size} orderings below the head at startup; older rows are taken as
+ * committed or rolled back.
+ */
+public class JournalSequence {
+
+    private static final Logger LOG = Logger.getLogger(JournalSequence.class);
+
+    private static final String HEAD_SQL = "SELECT coalesce(max(ordering), 0) FROM event_journal";
+
+    private static final String ORDERINGS_SQL = """
+        SELECT ordering
+        FROM event_journal
+        WHERE ordering > ?
+        ORDER BY ordering
+        LIMIT ?
+        """;
+
+    public record Settings(
+        int batchSize,
+        Duration queryInterval,
+        Duration gapTimeout,
+        String dispatcher
+    ) {
+        public static Settings fromConfig(Config config) {
+            return new Settings(
+                config.getInt("sequence-batch-size"),
+                config.getDuration("poll-interval"),
+                config.getDuration("gap-timeout"),
+                config.getString("use-dispatcher")
+            );
+        }
+    }
+
+    private final DataSource dataSource;
+    private final Settings settings;
+
+    // Only touched by refresh(), whose runs never overlap
+    private OrderingGaps gaps;
+    private volatile long maxOrdering = 0;
+
+    public JournalSequence(ActorSystem<?> system, DataSource dataSource, Settings settings) {
+        this.dataSource = dataSource;
+        this.settings = settings;
+        var executor = system
+            .dispatchers()
+            .lookup(DispatcherSelector.fromConfig(settings.dispatcher()));
+        // Fixed delay: the next run is scheduled once the previous one returned
+        system
+            .scheduler()
+            .scheduleWithFixedDelay(
+                Duration.ZERO,
+                settings.queryInterval(),
+                this::refresh,
+                executor
+            );
+    }
+
+    // Every row up to this ordering is visible; 0 until the first read
+    public long maxOrdering() {
+        return maxOrdering;
+    }
+
+    private void refresh() {
+        try (var connection = dataSource.getConnection()) {
+            if (gaps == null) {
+                long start = Math.max(0, head(connection) - settings.batchSize());
+                gaps = new OrderingGaps(start, settings.gapTimeout());
+            }
+            List<Long> orderings;
+            long before;
+            do {
+                before = gaps.position();
+                orderings = orderings(connection, before);
+                for (var skipped : gaps.advance(orderings, System.nanoTime())) {
+                    LOG.warnf(
+                        "Journal orderings %d to %d did not show up within %s, " +
+                        "assuming their transaction rolled back",
+                        skipped.from(),
+                        skipped.to(),
+                        settings.gapTimeout()
+                    );
+                }
+                maxOrdering = gaps.position();
+                // Again right away after a full batch read without stopping at a gap
+            } while (orderings.size() == settings.batchSize() && gaps.position() > before);
+        } catch (SQLException e) {
+            LOG.warn("Failed to read the journal orderings", e);
+        }
+    }
+
+    private static long head(Connection connection) throws SQLException {
+        try (
+            var statement = connection.prepareStatement(HEAD_SQL);
+            var rows = statement.executeQuery()
+        ) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    private List<Long> orderings(Connection connection, long after) throws SQLException {
+        try (var statement = connection.prepareStatement(ORDERINGS_SQL)) {
+            statement.setLong(1, after);
+            statement.setInt(2, settings.batchSize());
+            try (var rows = statement.executeQuery()) {
+                var orderings = new ArrayList<Long>(settings.batchSize());
+                while (rows.next()) {
+                    orderings.add(rows.getLong(1));
+                }
+                return orderings;
+            }
+        }
+    }
+}
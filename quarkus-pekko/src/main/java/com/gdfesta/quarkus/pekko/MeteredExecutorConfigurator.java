@@ -0,0 +1,84 @@
+package com.gdfesta.quarkus.pekko;
+
+import com.gdfesta.quarkus.pekko.VirtualThreadExecutorConfigurator.BoundedVirtualThreadExecutor;
+import com.typesafe.config.Config;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.apache.pekko.dispatch.DispatcherPrerequisites;
+import org.apache.pekko.dispatch.ExecutorServiceConfigurator;
+import org.apache.pekko.dispatch.ExecutorServiceFactory;
+import org.apache.pekko.dispatch.ForkJoinExecutorConfigurator;
+import org.apache.pekko.dispatch.ThreadPoolExecutorConfigurator;
+
+/**
+ * Dispatcher executor that builds the executor named by {@code metered-executor.delegate}
+ * ({@code fork-join-executor} or {@code thread-pool-executor}, configured as usual, or
+ * {@code virtual-thread-executor}, see {@link VirtualThreadExecutorConfigurator}) and keeps a
+ * reference to it by dispatcher id, so its queue depth can be read by a metrics gauge. Tasks
+ * run on the delegate's executor unchanged.
+ */
+public class MeteredExecutorConfigurator extends ExecutorServiceConfigurator {
+
+    private static final ConcurrentHashMap<String, ExecutorService> EXECUTORS =
+        new ConcurrentHashMap<>();
+
+    private final ExecutorServiceConfigurator delegate;
+
+    public MeteredExecutorConfigurator(Config config, DispatcherPrerequisites prerequisites) {
+        super(config, prerequisites);
+        var delegateName = config.getString("metered-executor.delegate");
+        this.delegate = switch (delegateName) {
+            case "fork-join-executor" -> new ForkJoinExecutorConfigurator(
+                config.getConfig("fork-join-executor"),
+                prerequisites
+            );
+            case "thread-pool-executor" -> new ThreadPoolExecutorConfigurator(
+                config.getConfig("thread-pool-executor"),
+                prerequisites
+            );
+            case "virtual-thread-executor" -> new VirtualThreadExecutorConfigurator(
+                config,
+                prerequisites
+            );
+            default -> throw new IllegalArgumentException(
+                "Unsupported metered-executor.delegate " + delegateName
+            );
+        };
+    }
+
+    @Override
+    public ExecutorServiceFactory createExecutorServiceFactory(
+        String id,
+        ThreadFactory threadFactory
+    ) {
+        var factory = delegate.createExecutorServiceFactory(id, threadFactory);
+        return () -> {
+            var executor = factory.createExecutorService();
+            EXECUTORS.put(id, executor);
+            return executor;
+        };
+    }
+
+    // Tasks waiting for a thread; -1 while the dispatcher has not been created yet
+    public static long queued(String dispatcherId) {
+        return switch (EXECUTORS.get(dispatcherId)) {
+            case ThreadPoolExecutor pool -> pool.getQueue().size();
+            case BoundedVirtualThreadExecutor pool -> pool.queued();
+            case ForkJoinPool pool -> pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount();
+            case null, default -> -1;
+        };
+    }
+
+    // Threads running a task; -1 while the dispatcher has not been created yet
+    public static long active(String dispatcherId) {
+        return switch (EXECUTORS.get(dispatcherId)) {
+            case ThreadPoolExecutor pool -> pool.getActiveCount();
+            case BoundedVirtualThreadExecutor pool -> pool.active();
+            case ForkJoinPool pool -> pool.getActiveThreadCount();
+            case null, default -> -1;
+        };
+    }
+}
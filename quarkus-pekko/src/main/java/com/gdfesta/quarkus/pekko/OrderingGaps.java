@@ -0,0 +1,62 @@
+package com.gdfesta.quarkus.pekko;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Highest {@code event_journal} ordering below which every row is visible. An ordering missing
+ * below a visible row belongs to a transaction still in flight or rolled back: the position
+ * stops before it until it shows up or {@code gapTimeout} passes, then moves past it. Gaps seen
+ * in the same batch are timed together.
+ *
+ * <p>Not thread safe: one caller advances it at a time.
+ */
+final class OrderingGaps {
+
+    /** A gap given up on: orderings {@code from} to {@code to} are assumed rolled back. */
+    record Skipped(long from, long to) {}
+
+    private final long gapTimeoutNanos;
+    // First missing ordering of each gap -> when it was first seen (System.nanoTime)
+    private final Map<Long, Long> gapsSeenAt = new HashMap<>();
+    private long position;
+
+    OrderingGaps(long position, Duration gapTimeout) {
+        this.position = position;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+    }
+
+    long position() {
+        return position;
+    }
+
+    /**
+     * Moves the position over the next orderings, read in ascending order from above the
+     * position, and returns the gaps it skipped.
+     */
+    List<Skipped> advance(List<Long> orderings, long nowNanos) {
+        var skipped = new ArrayList<Skipped>();
+        // Where the scan is, past a gap it stopped at: later gaps are still timed from now
+        long scanned = position;
+        boolean blocked = false;
+        for (long ordering : orderings) {
+            if (ordering > scanned + 1) {
+                long seenAt = gapsSeenAt.computeIfAbsent(scanned + 1, gap -> nowNanos);
+                if (nowNanos - seenAt < gapTimeoutNanos) {
+                    blocked = true;
+                } else if (!blocked) {
+                    skipped.add(new Skipped(scanned + 1, ordering - 1));
+                }
+            }
+            scanned = ordering;
+            if (!blocked) {
+                position = ordering;
+            }
+        }
+        gapsSeenAt.keySet().removeIf(gap -> gap <= position);
+        return skipped;
+    }
+}
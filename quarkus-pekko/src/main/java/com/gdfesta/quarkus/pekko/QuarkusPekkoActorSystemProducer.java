@@ -42,6 +42,8 @@ public class QuarkusPekkoActorSystemProducer {
     void onStart(@Observes @Priority(1001) StartupEvent event) {
         LOG.info("Initializing Pekko ActorSystem...");
 
+        // Read by slick.db, only when pekko-persistence-jdbc opens its own pool
+        // (DefaultSlickDatabaseProvider instead of AgroalSlickDatabaseProvider)
         setSystemPropertyIfAbsent("QUARKUS_DATASOURCE_JDBC_URL", datasourceUrl);
         setSystemPropertyIfAbsent("QUARKUS_DATASOURCE_USERNAME", datasourceUsername);
         setSystemPropertyIfAbsent("QUARKUS_DATASOURCE_PASSWORD", datasourcePassword);
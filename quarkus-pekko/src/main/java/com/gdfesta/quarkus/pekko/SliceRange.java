@@ -0,0 +1,44 @@
+package com.gdfesta.quarkus.pekko;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public record SliceRange(int min, int max) {
+    // Must match the mask of persistence_id_slice in V4__event_journal_slices.sql
+    public static final int NUMBER_OF_SLICES = 1024;
+
+    private static final String KEY_PREFIX = "slices-";
+
+    public SliceRange {
+        if (min < 0 || max >= NUMBER_OF_SLICES || min > max) {
+            throw new IllegalArgumentException("Invalid slice range " + min + "-" + max);
+        }
+    }
+
+    public static List<SliceRange> split(int workers) {
+        if (workers < 1 || workers > NUMBER_OF_SLICES) {
+            throw new IllegalArgumentException(
+                "Slice workers must be between 1 and " + NUMBER_OF_SLICES + ", was " + workers
+            );
+        }
+        var ranges = new ArrayList<SliceRange>(workers);
+        for (int i = 0; i < workers; i++) {
+            int min = i * NUMBER_OF_SLICES / workers;
+            int max = (i + 1) * NUMBER_OF_SLICES / workers - 1;
+            ranges.add(new SliceRange(min, max));
+        }
+        return ranges;
+    }
+
+    public static SliceRange fromKey(String key) {
+        if (!key.startsWith(KEY_PREFIX)) {
+            throw new IllegalArgumentException("Not a slice range key: " + key);
+        }
+        var bounds = key.substring(KEY_PREFIX.length()).split("-");
+        return new SliceRange(Integer.parseInt(bounds[0]), Integer.parseInt(bounds[1]));
+    }
+
+    public String key() {
+        return KEY_PREFIX + min + "-" + max;
+    }
+}
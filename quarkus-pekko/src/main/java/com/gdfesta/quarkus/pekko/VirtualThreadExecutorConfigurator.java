@@ -0,0 +1,112 @@
+package com.gdfesta.quarkus.pekko;
+
+import com.typesafe.config.Config;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.apache.pekko.dispatch.DispatcherPrerequisites;
+import org.apache.pekko.dispatch.ExecutorServiceConfigurator;
+import org.apache.pekko.dispatch.ExecutorServiceFactory;
+
+/**
+ * Dispatcher executor that runs every task on a new JDK virtual thread. At most
+ * {@code virtual-thread-executor.max-concurrency} tasks run at once; the others wait for a permit
+ * parked on their own virtual thread, so the limit is the resource the tasks use (typically the
+ * connections of a pool) rather than a number of platform threads blocked on I/O.
+ *
+ * <p>Use it for dispatchers whose tasks block, as {@code executor} or as the
+ * {@code metered-executor.delegate} of {@link MeteredExecutorConfigurator}. Tasks of one actor
+ * still run one at a time, but a task that blocks inside {@code synchronized} pins its carrier
+ * thread on JDK 21.
+ */
+public class VirtualThreadExecutorConfigurator extends ExecutorServiceConfigurator {
+
+    private final int maxConcurrency;
+
+    public VirtualThreadExecutorConfigurator(Config config, DispatcherPrerequisites prerequisites) {
+        super(config, prerequisites);
+        this.maxConcurrency = config.getInt("virtual-thread-executor.max-concurrency");
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException(
+                "virtual-thread-executor.max-concurrency must be at least 1, was " + maxConcurrency
+            );
+        }
+    }
+
+    @Override
+    public ExecutorServiceFactory createExecutorServiceFactory(
+        String id,
+        ThreadFactory threadFactory
+    ) {
+        // The platform thread factory of the dispatcher is not used, threads are named after it
+        return () -> new BoundedVirtualThreadExecutor(id, maxConcurrency);
+    }
+
+    /** Thread per task executor that lets at most {@code maxConcurrency} tasks run at once. */
+    public static final class BoundedVirtualThreadExecutor extends AbstractExecutorService {
+
+        private final ExecutorService threads;
+        private final Semaphore permits;
+        private final int maxConcurrency;
+
+        public BoundedVirtualThreadExecutor(String name, int maxConcurrency) {
+            this.threads = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(name + "-", 0).factory()
+            );
+            // Fair, so tasks start in submission order like with a thread pool queue
+            this.permits = new Semaphore(maxConcurrency, true);
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            threads.execute(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        // Tasks started and waiting for a permit
+        public int queued() {
+            return permits.getQueueLength();
+        }
+
+        // Tasks holding a permit
+        public int active() {
+            return maxConcurrency - permits.availablePermits();
+        }
+
+        @Override
+        public void shutdown() {
+            threads.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return threads.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return threads.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return threads.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return threads.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+-- Slice of a persistence id (0-1023). A function rather than a stored column: adding a stored
+-- column would rewrite event_journal under an ACCESS EXCLUSIVE lock, while the slice polls only
+-- need it in an expression index, built concurrently by V8. A catalog change only, event_journal
+-- is not locked.
+CREATE OR REPLACE FUNCTION persistence_id_slice(persistence_id VARCHAR)
+  RETURNS INTEGER
+  LANGUAGE sql IMMUTABLE PARALLEL SAFE
+  RETURN hashtext(persistence_id) & 1023;
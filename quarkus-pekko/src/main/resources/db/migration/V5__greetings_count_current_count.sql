@@ -0,0 +1,6 @@
+-- Current count of each name as the aggregate sees it (greets minus ungreets, never below 0),
+-- so reads can be served from the read model. greeting_count stays the total of all greets.
+-- Rows that existed before this column start at 0: replay the read-side projection to fill
+-- them (see README.md, "Serving reads from the read model").
+ALTER TABLE greetings_count
+  ADD COLUMN IF NOT EXISTS current_count INTEGER NOT NULL DEFAULT 0;
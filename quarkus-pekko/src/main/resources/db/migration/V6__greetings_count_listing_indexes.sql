@@ -0,0 +1,11 @@
+-- Keyset pagination of GET /greetings. Each index matches one sort order, with name as the
+-- tie-breaker, so a page is an index range scan that starts at the cursor and stops after the
+-- page size instead of sorting the whole table. The cursor predicates bound the leading column
+-- (GreetingsCountRepository.page): (last_greeted_at, name) < (?, ?) is a single index bound,
+-- greeting_count <= ? starts the count scan and the name tie-breaker is filtered inside it.
+-- Listing by name is served by the primary key.
+CREATE INDEX IF NOT EXISTS greetings_count_by_count_idx
+  ON greetings_count (greeting_count DESC, name ASC);
+
+CREATE INDEX IF NOT EXISTS greetings_count_by_last_greeted_idx
+  ON greetings_count (last_greeted_at DESC, name DESC);
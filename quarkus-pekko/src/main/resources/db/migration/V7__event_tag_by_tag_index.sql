@@ -0,0 +1,7 @@
+-- The primary key of event_tag leads with event_id, so the highest event of a tag meant a scan
+-- of the whole table. With this index it is one probe, which the projection lag needs for
+-- every tag on each refresh; eventsByTag polls filter on the tag too.
+-- Built concurrently so journal writes, which insert into event_tag, go on while it builds;
+-- that needs the migration to run outside a transaction (V7__event_tag_by_tag_index.sql.conf).
+-- An interrupted build leaves an invalid index behind: drop it and run the migration again.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS event_tag_tag_idx ON event_tag(tag, event_id);
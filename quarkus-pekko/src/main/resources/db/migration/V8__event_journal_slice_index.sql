@@ -0,0 +1,6 @@
+-- Lets each slice worker seek to its own slices from its offset instead of reading every row of
+-- the journal. Built concurrently so journal writes go on while it builds, which needs the
+-- migration to run outside a transaction (V8__event_journal_slice_index.sql.conf). An
+-- interrupted build leaves an invalid index behind: drop it and run the migration again.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS event_journal_slice_idx
+  ON event_journal (persistence_id_slice(persistence_id), ordering);
@@ -0,0 +1,45 @@
+package com.gdfesta.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gdfesta.example.DispatcherSizingCheck.Sizes;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("DispatcherSizingCheck Tests")
+class DispatcherSizingCheckTest {
+
+    @Test
+    @DisplayName("Should accept the default layout")
+    void testDefaults() {
+        assertTrue(DispatcherSizingCheck.check(new Sizes(24, 10, 0, 5, 4, 5, 5)).isEmpty());
+        assertTrue(DispatcherSizingCheck.check(new Sizes(20, 10, 4, 0, 4, 5, 5)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should warn when the projection dispatchers outgrow the datasource")
+    void testProjectionThreadsAboveDatasource() {
+        var warnings = DispatcherSizingCheck.check(new Sizes(20, 16, 4, 0, 4, 5, 5));
+
+        assertEquals(1, warnings.size());
+        assertTrue(warnings.getFirst().contains("quarkus.datasource.jdbc.max-size is 20"));
+    }
+
+    @Test
+    @DisplayName("Should count the journal connections taken from the datasource")
+    void testJournalConnectionsAboveDatasource() {
+        var warnings = DispatcherSizingCheck.check(new Sizes(20, 10, 4, 5, 4, 5, 5));
+
+        assertEquals(1, warnings.size());
+        assertTrue(warnings.getFirst().contains("(10 projection + 4 source + 5 journal)"));
+    }
+
+    @Test
+    @DisplayName("Should warn when Slick threads and connections differ")
+    void testSlickMismatch() {
+        var warnings = DispatcherSizingCheck.check(new Sizes(20, 10, 0, 0, 4, 10, 5));
+
+        assertEquals(1, warnings.size());
+        assertTrue(warnings.getFirst().contains("Slick runs 10 threads on 5 connections"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.gdfesta.example;
+
+import static io.restassured.RestAssured.given;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@DisplayName("GreetingEntityPrewarmer Integration Tests")
+class GreetingEntityPrewarmerTest {
+
+    @Inject
+    GreetingEntityPrewarmer prewarmer;
+
+    @Test
+    @DisplayName("Should wake the recently greeted entities")
+    void testPrewarm() {
+        String name = "test-" + UUID.randomUUID();
+        given().when().post("/greetings/{name}", name).then().statusCode(200);
+        await()
+            .atMost(10, TimeUnit.SECONDS)
+            .pollInterval(200, TimeUnit.MILLISECONDS)
+            .untilAsserted(() ->
+                given()
+                    .when()
+                    .get("/greetings/{name}?source=read-model", name)
+                    .then()
+                    .statusCode(200)
+                    .body("count", is(1))
+            );
+
+        int warmed = prewarmer.prewarm().await().atMost(Duration.ofSeconds(30));
+
+        assertTrue(warmed >= 1);
+    }
+}
@@ -0,0 +1,124 @@
+package com.gdfesta.example;
+
+import static io.restassured.RestAssured.given;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingTags;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.apache.pekko.actor.typed.ActorSystem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@DisplayName("ProjectionLagMonitor Integration Tests")
+class ProjectionLagMonitorTest {
+
+    @Inject
+    ProjectionLagMonitor monitor;
+
+    @Inject
+    ActorSystem<Void> actorSystem;
+
+    @Test
+    @DisplayName("Should report no lag once the projections caught up")
+    void testLagIsReported() {
+        String name = "test-" + UUID.randomUUID();
+        String key = tagOf(name);
+        given().when().post("/greetings/{name}", name).then().statusCode(200);
+
+        await()
+            .atMost(10, TimeUnit.SECONDS)
+            .pollInterval(200, TimeUnit.MILLISECONDS)
+            .untilAsserted(() -> {
+                monitor.refresh();
+                for (var projection : JdbcHandlersCreator.PROJECTIONS) {
+                    var lag = lagOf(projection, key);
+                    assertEquals(0, lag.lag());
+                    assertTrue(lag.headOrdering() > 0);
+                    assertNotNull(lag.offsetUpdatedAt());
+                }
+            });
+
+        given()
+            .when()
+            .get("/projections")
+            .then()
+            .statusCode(200)
+            .body("refreshedAt", notNullValue())
+            .body("projections.projection", hasItem(JdbcHandlersCreator.KAFKA_PROJECTION))
+            .body("projections.key", hasItem(key));
+        given()
+            .when()
+            .get("/q/health/ready")
+            .then()
+            .statusCode(200)
+            .body("checks.name", hasItem("projection-lag"));
+    }
+
+    @Test
+    @DisplayName("Should report the lag of a paused projection until it is resumed")
+    void testPauseAndResume() {
+        String name = "test-" + UUID.randomUUID();
+        String key = tagOf(name);
+        String projection = JdbcHandlersCreator.READ_SIDE_PROJECTION;
+        given()
+            .when()
+            .post("/projections/{name}/{key}/pause", projection, key)
+            .then()
+            .statusCode(204);
+        try {
+            given().when().post("/greetings/{name}", name).then().statusCode(200);
+
+            monitor.refresh();
+            var lag = lagOf(projection, key);
+            assertTrue(lag.paused());
+            assertTrue(lag.lag() >= 1);
+        } finally {
+            given()
+                .when()
+                .post("/projections/{name}/{key}/resume", projection, key)
+                .then()
+                .statusCode(204);
+        }
+
+        await()
+            .atMost(10, TimeUnit.SECONDS)
+            .pollInterval(200, TimeUnit.MILLISECONDS)
+            .untilAsserted(() -> {
+                monitor.refresh();
+                var lag = lagOf(projection, key);
+                assertFalse(lag.paused());
+                assertEquals(0, lag.lag());
+            });
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown projection")
+    void testUnknownProjection() {
+        given()
+            .when()
+            .post("/projections/{name}/{key}/pause", "unknown", "greeting-0")
+            .then()
+            .statusCode(404);
+    }
+
+    private String tagOf(String name) {
+        return GreetingTags.fromConfig(actorSystem.settings().config()).tagFor(name);
+    }
+
+    private ProjectionLag lagOf(String projection, String key) {
+        return monitor
+            .report()
+            .projections()
+            .stream()
+            .filter(lag -> lag.projection().equals(projection) && lag.key().equals(key))
+            .findFirst()
+            .orElseThrow();
+    }
+}
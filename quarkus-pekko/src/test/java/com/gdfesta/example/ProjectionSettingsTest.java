@@ -0,0 +1,40 @@
+package com.gdfesta.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ProjectionSettings Tests")
+class ProjectionSettingsTest {
+
+    private static final ProjectionSettings GROUPS_OF_20 = new ProjectionSettings(
+        ProjectionSettings.Mode.GROUPED,
+        20,
+        Duration.ofMillis(200)
+    );
+
+    @Test
+    @DisplayName("Should keep groups that fit into the buffer together")
+    void testGroupsFit() {
+        assertSame(GROUPS_OF_20, GROUPS_OF_20.fitInto(100, 5));
+        assertSame(GROUPS_OF_20, GROUPS_OF_20.fitInto(100, 4));
+    }
+
+    @Test
+    @DisplayName("Should shrink groups when more instances share the buffer")
+    void testGroupsShrink() {
+        var settings = GROUPS_OF_20.fitInto(100, 8);
+
+        assertEquals(12, settings.groupAfterEnvelopes());
+        assertEquals(GROUPS_OF_20.mode(), settings.mode());
+        assertEquals(GROUPS_OF_20.groupAfterDuration(), settings.groupAfterDuration());
+    }
+
+    @Test
+    @DisplayName("Should keep at least one envelope per group")
+    void testAtLeastOneEnvelope() {
+        assertEquals(1, GROUPS_OF_20.fitInto(100, 128).groupAfterEnvelopes());
+    }
+}
@@ -0,0 +1,115 @@
+package com.gdfesta.example.api;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@DisplayName("GreetingBatchResource Integration Tests")
+class GreetingBatchResourceTest {
+
+    private String generateUniqueName() {
+        return "batch-test-" + UUID.randomUUID();
+    }
+
+    private Map<String, String> op(String name, String op) {
+        return Map.of("name", name, "op", op);
+    }
+
+    @Test
+    @DisplayName("POST /greetings:batch - Applies operations per name in order")
+    void testBatchAppliesOperationsInOrder() {
+        String alice = generateUniqueName();
+        String bob = generateUniqueName();
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(
+                List.of(
+                    op(alice, "GREET"),
+                    op(bob, "GREET"),
+                    op(alice, "GREET"),
+                    op(alice, "UNGREET"),
+                    op(bob, "GET")
+                )
+            )
+            .when()
+            .post("/greetings:batch")
+            .then()
+            .statusCode(200)
+            .body("size()", is(5))
+            .body("[0].index", is(0))
+            .body("[0].count", is(1))
+            .body("[1].name", is(bob))
+            .body("[1].count", is(1))
+            .body("[2].count", is(2))
+            .body("[3].op", is("UNGREET"))
+            .body("[3].count", is(1))
+            .body("[4].status", is("OpenState"))
+            .body("[4].count", is(1));
+    }
+
+    @Test
+    @DisplayName("POST /greetings:batch - Rejected operations are reported per item")
+    void testBatchReportsRejections() {
+        String name = generateUniqueName();
+        var operations = new ArrayList<>(Collections.nCopies(6, op(name, "GREET")));
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(operations)
+            .when()
+            .post("/greetings:batch")
+            .then()
+            .statusCode(200)
+            .body("[4].status", is("CloseState"))
+            .body("[4].count", is(5))
+            .body("[5].status", nullValue())
+            .body("[5].error", notNullValue());
+    }
+
+    @Test
+    @DisplayName("POST /greetings:batch - Streams results as NDJSON")
+    void testBatchStreamsNdjson() {
+        String name = generateUniqueName();
+
+        String body = given()
+            .contentType(ContentType.JSON)
+            .accept("application/x-ndjson")
+            .body(List.of(op(name, "GREET"), op(name, "GREET")))
+            .when()
+            .post("/greetings:batch")
+            .then()
+            .statusCode(200)
+            .extract()
+            .asString();
+
+        List<String> lines = body.lines().filter(line -> !line.isBlank()).toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.stream().allMatch(line -> line.contains(name)));
+    }
+
+    @Test
+    @DisplayName("POST /greetings:batch - Invalid operations are rejected")
+    void testInvalidBatch() {
+        given()
+            .contentType(ContentType.JSON)
+            .body(List.of(Map.of("op", "GREET")))
+            .when()
+            .post("/greetings:batch")
+            .then()
+            .statusCode(400);
+    }
+}
@@ -1,11 +1,15 @@
 package com.gdfesta.example.api;
 
 import static io.restassured.RestAssured.given;
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -317,4 +321,137 @@ public class GreetingResourceTest {
             .body("status", is("CloseState"))
             .body("count", is(5));
     }
+
+    @Test
+    @DisplayName("GET /greetings/{name}?source=read-model - Serves the projected state")
+    void testGetFromReadModel() {
+        String name = generateUniqueName();
+
+        // Unknown names read as an empty open state, like a fresh entity
+        given()
+            .when()
+            .get("/greetings/{name}?source=read-model", name)
+            .then()
+            .statusCode(200)
+            .body("status", is("OpenState"))
+            .body("count", is(0));
+
+        for (int i = 0; i < 5; i++) {
+            given().when().post("/greetings/{name}", name).then().statusCode(200);
+        }
+        given().when().delete("/greetings/{name}", name).then().statusCode(200);
+
+        // The projection commit invalidates the cached entry
+        await()
+            .atMost(10, TimeUnit.SECONDS)
+            .pollInterval(200, TimeUnit.MILLISECONDS)
+            .untilAsserted(() ->
+                given()
+                    .when()
+                    .get("/greetings/{name}?source=read-model", name)
+                    .then()
+                    .statusCode(200)
+                    .body("status", is("OpenState"))
+                    .body("count", is(4))
+            );
+    }
+
+    @Test
+    @DisplayName("GET /greetings - Lists the read model by last greeting, with a next page")
+    void testListByLastGreetedAt() {
+        String first = generateUniqueName();
+        String second = generateUniqueName();
+        given().when().post("/greetings/{name}", first).then().statusCode(200);
+        given().when().post("/greetings/{name}", second).then().statusCode(200);
+
+        await()
+            .atMost(10, TimeUnit.SECONDS)
+            .pollInterval(200, TimeUnit.MILLISECONDS)
+            .untilAsserted(() ->
+                given()
+                    .when()
+                    .get("/greetings?sort=last-greeted-at&limit=2")
+                    .then()
+                    .statusCode(200)
+                    .body("items.name", contains(second, first))
+            );
+
+        String next = given()
+            .when()
+            .get("/greetings?sort=last-greeted-at&limit=1")
+            .then()
+            .statusCode(200)
+            .body("items.name", contains(second))
+            .extract()
+            .path("next");
+
+        given()
+            .when()
+            .get("/greetings?sort=last-greeted-at&limit=1&after={next}", next)
+            .then()
+            .statusCode(200)
+            .body("items.name", contains(first));
+    }
+
+    @Test
+    @DisplayName("GET /greetings - Lists the most greeted names first")
+    void testListByCount() {
+        String name = generateUniqueName();
+        for (int i = 0; i < 5; i++) {
+            given().when().post("/greetings/{name}", name).then().statusCode(200);
+        }
+
+        await()
+            .atMost(10, TimeUnit.SECONDS)
+            .pollInterval(200, TimeUnit.MILLISECONDS)
+            .untilAsserted(() ->
+                given()
+                    .when()
+                    .get("/greetings?sort=count&limit=100")
+                    .then()
+                    .statusCode(200)
+                    .body("items.find { it.name == '%s' }.greetingCount".formatted(name), is(5))
+                    .body("items[0].greetingCount", greaterThanOrEqualTo(5))
+            );
+    }
+
+    @Test
+    @DisplayName("GET /greetings - Rejects an invalid limit or cursor")
+    void testListRejectsInvalidParameters() {
+        given().when().get("/greetings?limit=0").then().statusCode(400);
+        given().when().get("/greetings?limit=100000").then().statusCode(400);
+        given().when().get("/greetings?sort=count&after=garbage").then().statusCode(400);
+    }
+
+    @Test
+    @DisplayName("POST /greetings/{name} - A retried Idempotency-Key is applied once")
+    void testIdempotencyKey() {
+        String name = generateUniqueName();
+        String key = UUID.randomUUID().toString();
+
+        for (int i = 0; i < 3; i++) {
+            given()
+                .header("Idempotency-Key", key)
+                .when()
+                .post("/greetings/{name}", name)
+                .then()
+                .statusCode(200)
+                .body("count", is(1));
+        }
+
+        given()
+            .header("Idempotency-Key", UUID.randomUUID().toString())
+            .when()
+            .post("/greetings/{name}", name)
+            .then()
+            .statusCode(200)
+            .body("count", is(2));
+
+        given()
+            .header("Idempotency-Key", " ")
+            .when()
+            .delete("/greetings/{name}", name)
+            .then()
+            .statusCode(400);
+    }
 }
@@ -0,0 +1,29 @@
+package com.gdfesta.example.kafka;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+
+// Same scenarios as GreetingCommandConsumerTest, consumed by GreetingCommandBatchConsumer
+@QuarkusTest
+@TestProfile(GreetingCommandConsumerBatchModeTest.BatchMode.class)
+@DisplayName("GreetingCommandBatchConsumer Integration Tests")
+class GreetingCommandConsumerBatchModeTest extends GreetingCommandConsumerTest {
+
+    public static class BatchMode implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "greeting.command-consumer.batch",
+                "true",
+                "mp.messaging.incoming.greeting-commands.enabled",
+                "false",
+                "mp.messaging.incoming.greeting-commands-batch.enabled",
+                "true"
+            );
+        }
+    }
+}
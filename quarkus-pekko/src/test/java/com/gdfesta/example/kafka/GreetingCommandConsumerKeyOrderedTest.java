@@ -0,0 +1,22 @@
+package com.gdfesta.example.kafka;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+
+// Same scenarios as GreetingCommandConsumerTest, with records processed concurrently
+@QuarkusTest
+@TestProfile(GreetingCommandConsumerKeyOrderedTest.KeyOrdered.class)
+@DisplayName("GreetingCommandConsumer Integration Tests (key-ordered mode)")
+class GreetingCommandConsumerKeyOrderedTest extends GreetingCommandConsumerTest {
+
+    public static class KeyOrdered implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("greeting.command-consumer.mode", "key-ordered");
+        }
+    }
+}
@@ -210,4 +210,29 @@ class GreetingCommandConsumerTest {
                         .body("count", is(2))
             );
     }
+
+    @Test
+    @DisplayName("Commands with an invalid commandId should be dropped")
+    void testInvalidCommandIdDropped() {
+        String name = generateUniqueName();
+
+        // Same rules as the Idempotency-Key header: blank or longer than 128 characters
+        commandProducer.publish(new GreetingCommandMessage.GreetCommand(name, " "));
+        commandProducer.publish(new GreetingCommandMessage.GreetCommand(name, "x".repeat(129)));
+        commandProducer.publish(new GreetingCommandMessage.GreetCommand(name, "cmd-1"));
+
+        // Only the last one is applied, and the ones before it did not stop the consumer
+        await()
+            .atMost(10, TimeUnit.SECONDS)
+            .pollInterval(200, TimeUnit.MILLISECONDS)
+            .untilAsserted(
+                () ->
+                    given()
+                        .when()
+                        .get("/greetings/{name}", name)
+                        .then()
+                        .statusCode(200)
+                        .body("count", is(1))
+            );
+    }
 }
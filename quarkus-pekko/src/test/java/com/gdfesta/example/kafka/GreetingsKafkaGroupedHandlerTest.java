@@ -0,0 +1,123 @@
+package com.gdfesta.example.kafka;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gdfesta.example.kafka.producer.GreetingKafkaProducer;
+import com.gdfesta.example.kafka.producer.model.GreetingKafkaMessage;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.apache.pekko.persistence.query.Offset;
+import org.apache.pekko.projection.eventsourced.EventEnvelope;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("GreetingsKafkaGroupedHandler Tests")
+class GreetingsKafkaGroupedHandlerTest {
+
+    // Records what would be sent and lets the test acknowledge each message
+    private static class RecordingProducer extends GreetingKafkaProducer {
+
+        final List<GreetingKafkaMessage> published = new ArrayList<>();
+        final List<CompletableFuture<Void>> acknowledgements = new ArrayList<>();
+
+        @Override
+        public CompletionStage<Void> publish(GreetingKafkaMessage event) {
+            var acknowledgement = new CompletableFuture<Void>();
+            published.add(event);
+            acknowledgements.add(acknowledgement);
+            return acknowledgement;
+        }
+    }
+
+    private static EventEnvelope<GreetingEvent> envelope(long ordering, GreetingEvent event) {
+        return EventEnvelope.create(
+            Offset.sequence(ordering),
+            "greeting-aggregate|test",
+            ordering,
+            event,
+            0L
+        );
+    }
+
+    @Test
+    @DisplayName("Should publish every Greeted event of the group in order and skip the others")
+    void testPublishesInOrder() {
+        var producer = new RecordingProducer();
+        var handler = new GreetingsKafkaGroupedHandler(producer);
+
+        handler.process(
+            List.of(
+                envelope(1, new GreetingEvent.Greeted("Alice")),
+                envelope(2, new GreetingEvent.UnGreeted()),
+                envelope(3, new GreetingEvent.Greeted("Bob"))
+            )
+        );
+
+        assertEquals(
+            List.of(
+                new GreetingKafkaMessage.Greeted("Alice"),
+                new GreetingKafkaMessage.Greeted("Bob")
+            ),
+            producer.published
+        );
+    }
+
+    @Test
+    @DisplayName("Should complete the group only once every message is acknowledged")
+    void testCompletesAfterEveryAcknowledgement() {
+        var producer = new RecordingProducer();
+        var handler = new GreetingsKafkaGroupedHandler(producer);
+
+        var group = handler
+            .process(
+                List.of(
+                    envelope(1, new GreetingEvent.Greeted("Alice")),
+                    envelope(2, new GreetingEvent.Greeted("Bob"))
+                )
+            )
+            .toCompletableFuture();
+
+        producer.acknowledgements.get(1).complete(null);
+        assertFalse(group.isDone());
+        producer.acknowledgements.get(0).complete(null);
+        assertTrue(group.isDone());
+        assertFalse(group.isCompletedExceptionally());
+    }
+
+    @Test
+    @DisplayName("Should fail the group when a message is not acknowledged")
+    void testFailsWithAnyMessage() {
+        var producer = new RecordingProducer();
+        var handler = new GreetingsKafkaGroupedHandler(producer);
+
+        var group = handler
+            .process(
+                List.of(
+                    envelope(1, new GreetingEvent.Greeted("Alice")),
+                    envelope(2, new GreetingEvent.Greeted("Bob"))
+                )
+            )
+            .toCompletableFuture();
+
+        producer.acknowledgements.get(0).complete(null);
+        producer.acknowledgements.get(1).completeExceptionally(new IllegalStateException("nack"));
+        assertTrue(group.isCompletedExceptionally());
+    }
+
+    @Test
+    @DisplayName("Should complete a group without Greeted events right away")
+    void testNothingToPublish() {
+        var producer = new RecordingProducer();
+        var handler = new GreetingsKafkaGroupedHandler(producer);
+
+        var group = handler
+            .process(List.of(envelope(1, new GreetingEvent.UnGreeted())))
+            .toCompletableFuture();
+
+        assertTrue(producer.published.isEmpty());
+        assertTrue(group.isDone());
+    }
+}
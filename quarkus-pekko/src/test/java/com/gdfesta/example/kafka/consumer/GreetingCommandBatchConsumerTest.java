@@ -0,0 +1,85 @@
+package com.gdfesta.example.kafka.consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gdfesta.example.kafka.consumer.model.GreetingCommandMessage.GreetCommand;
+import com.gdfesta.example.kafka.consumer.model.GreetingCommandMessage.UnGreetCommand;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingCommand.Operation;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("GreetingCommandBatchConsumer Tests")
+class GreetingCommandBatchConsumerTest {
+
+    @Test
+    @DisplayName("Should group operations by name, keeping their order")
+    void testGroupByName() {
+        var grouped = GreetingCommandBatchConsumer.groupByName(
+            List.of(
+                new GreetCommand("bob"),
+                new GreetCommand("alice"),
+                new UnGreetCommand("bob"),
+                new GreetCommand("bob"),
+                new UnGreetCommand("alice")
+            )
+        );
+
+        assertEquals(List.of("bob", "alice"), List.copyOf(grouped.keySet()));
+        assertEquals(
+            List.of(Operation.GREET, Operation.UNGREET, Operation.GREET),
+            grouped.get("bob").operations()
+        );
+        assertEquals(
+            List.of(Operation.GREET, Operation.UNGREET),
+            grouped.get("alice").operations()
+        );
+    }
+
+    @Test
+    @DisplayName("Should send no command ids when no command of the name has one")
+    void testGroupByNameWithoutCommandIds() {
+        var grouped = GreetingCommandBatchConsumer.groupByName(
+            List.of(new GreetCommand("bob"), new UnGreetCommand("bob"))
+        );
+
+        assertEquals(Arrays.asList(null, null), grouped.get("bob").commandIds());
+        assertEquals(List.of(), grouped.get("bob").commandIdsIfAny());
+    }
+
+    @Test
+    @DisplayName("Should keep one command id per operation when some commands have one")
+    void testGroupByNameWithSomeCommandIds() {
+        var grouped = GreetingCommandBatchConsumer.groupByName(
+            List.of(
+                new GreetCommand("bob", "id-1"),
+                new GreetCommand("alice"),
+                new UnGreetCommand("bob"),
+                new GreetCommand("bob", "id-3")
+            )
+        );
+
+        var expected = Arrays.asList("id-1", null, "id-3");
+        assertEquals(expected, grouped.get("bob").commandIds());
+        assertEquals(expected, grouped.get("bob").commandIdsIfAny());
+        assertEquals(List.of(), grouped.get("alice").commandIdsIfAny());
+    }
+
+    @Test
+    @DisplayName("Should drop commands with an invalid command id")
+    void testGroupByNameDropsInvalidCommandIds() {
+        var grouped = GreetingCommandBatchConsumer.groupByName(
+            List.of(
+                new GreetCommand("bob", ""),
+                new GreetCommand("bob", "x".repeat(129)),
+                new UnGreetCommand("bob", "id-3"),
+                new GreetCommand("alice", " ")
+            )
+        );
+
+        assertEquals(List.of("bob"), List.copyOf(grouped.keySet()));
+        assertEquals(List.of(Operation.UNGREET), grouped.get("bob").operations());
+        assertEquals(List.of("id-3"), grouped.get("bob").commandIds());
+    }
+}
@@ -0,0 +1,99 @@
+package com.gdfesta.example.kafka.consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("KeyOrderedDispatcher Tests")
+class KeyOrderedDispatcherTest {
+
+    @Test
+    @DisplayName("Should run the tasks of a key one after the other, in dispatch order")
+    void testOrderWithinKey() {
+        var dispatcher = new KeyOrderedDispatcher(10);
+        var started = new ArrayList<String>();
+        var first = new CompletableFuture<Void>();
+        var second = new CompletableFuture<Void>();
+
+        dispatcher.dispatch("alice", () -> {
+            started.add("first");
+            return first;
+        });
+        dispatcher.dispatch("alice", () -> {
+            started.add("second");
+            return second;
+        });
+        dispatcher.dispatch("alice", () -> {
+            started.add("third");
+            return CompletableFuture.completedFuture(null);
+        });
+
+        assertEquals(List.of("first"), started);
+        first.complete(null);
+        assertEquals(List.of("first", "second"), started);
+        second.complete(null);
+        assertEquals(List.of("first", "second", "third"), started);
+        assertEquals(0, dispatcher.inFlight());
+    }
+
+    @Test
+    @DisplayName("Should run tasks of different keys concurrently")
+    void testConcurrencyAcrossKeys() {
+        var dispatcher = new KeyOrderedDispatcher(10);
+        var started = new ArrayList<String>();
+
+        dispatcher.dispatch("alice", () -> {
+            started.add("alice");
+            return new CompletableFuture<Void>();
+        });
+        dispatcher.dispatch("bob", () -> {
+            started.add("bob");
+            return new CompletableFuture<Void>();
+        });
+
+        assertEquals(List.of("alice", "bob"), started);
+        assertEquals(2, dispatcher.inFlight());
+    }
+
+    @Test
+    @DisplayName("Should run the next task of a key after a failed one")
+    void testFailureDoesNotBlockKey() {
+        var dispatcher = new KeyOrderedDispatcher(10);
+        var ran = new CompletableFuture<Void>();
+
+        dispatcher.dispatch("alice", () ->
+            CompletableFuture.failedFuture(new IllegalStateException("boom"))
+        );
+        dispatcher.dispatch("alice", () -> {
+            throw new IllegalStateException("boom");
+        });
+        dispatcher.dispatch("alice", () -> {
+            ran.complete(null);
+            return ran;
+        });
+
+        assertTrue(ran.isDone());
+        assertEquals(0, dispatcher.inFlight());
+    }
+
+    @Test
+    @DisplayName("Should hold back the caller at max in flight until a task completes")
+    void testAdmission() {
+        var dispatcher = new KeyOrderedDispatcher(2);
+        var alice = new CompletableFuture<Void>();
+
+        var first = dispatcher.dispatch("alice", () -> alice);
+        var second = dispatcher.dispatch("bob", CompletableFuture<Void>::new);
+
+        assertTrue(first.toCompletableFuture().isDone());
+        assertFalse(second.toCompletableFuture().isDone());
+
+        alice.complete(null);
+        assertTrue(second.toCompletableFuture().isDone());
+        assertEquals(1, dispatcher.inFlight());
+    }
+}
@@ -0,0 +1,60 @@
+package com.gdfesta.example.loadtest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gdfesta.example.kafka.consumer.model.GreetingCommandMessage;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.smallrye.reactive.messaging.memory.InMemoryConnector;
+import jakarta.enterprise.inject.Any;
+import jakarta.inject.Inject;
+import java.net.URL;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Sustained load through GreetingResource and GreetingCommandConsumer. Skipped unless run with
+ * {@code -Dloadtest=true}; see README.md ("Load testing") for the parameters.
+ */
+@QuarkusTest
+@TestProfile(InMemoryMessagingProfile.class)
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@DisplayName("Greeting Load Test")
+class GreetingLoadTest {
+
+    @TestHTTPResource("/")
+    URL baseUrl;
+
+    @Inject
+    @Any
+    InMemoryConnector connector;
+
+    @Test
+    @DisplayName("Should sustain the configured rate")
+    void testSustainedLoad() throws InterruptedException {
+        var settings = LoadTestSettings.fromSystemProperties();
+        var rest = new HttpRestTarget(settings.targetUrl().orElse(baseUrl.toString()));
+        var kafka = new InMemoryKafkaTarget(
+            connector.<GreetingCommandMessage>source("greeting-commands")
+        );
+
+        // The in-memory sink keeps every published event: drop them as the run goes
+        var sink = connector.sink("greeting-events");
+        var cleaner = Executors.newSingleThreadScheduledExecutor();
+        cleaner.scheduleAtFixedRate(sink::clear, 1, 1, TimeUnit.SECONDS);
+        LoadTestReport report;
+        try {
+            report = new LoadGenerator(settings, rest, kafka).run();
+        } finally {
+            cleaner.shutdownNow();
+        }
+
+        report.print(System.out);
+        assertTrue(report.completed() > 0);
+        assertEquals(0, report.totalErrors(), "Transport errors or timeouts during the run");
+    }
+}
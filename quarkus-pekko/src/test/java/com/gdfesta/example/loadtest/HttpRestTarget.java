@@ -0,0 +1,41 @@
+package com.gdfesta.example.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+
+/** Calls {@code /greetings/{name}} with the JDK's asynchronous HTTP client. */
+class HttpRestTarget implements LoadTarget {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    private final String baseUrl;
+
+    HttpRestTarget(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    @Override
+    public CompletionStage<Boolean> execute(Operation operation, String name) {
+        var uri = URI.create(
+            baseUrl + "greetings/" + URLEncoder.encode(name, StandardCharsets.UTF_8)
+        );
+        var request = HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT);
+        switch (operation) {
+            case GREET -> request.POST(HttpRequest.BodyPublishers.noBody());
+            case UNGREET -> request.DELETE();
+            case GET -> request.GET();
+        }
+        return client
+            .sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+            .thenApply(response -> response.statusCode() / 100 == 2);
+    }
+}
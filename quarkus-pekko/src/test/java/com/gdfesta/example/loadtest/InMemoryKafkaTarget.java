@@ -0,0 +1,44 @@
+package com.gdfesta.example.loadtest;
+
+import com.gdfesta.example.kafka.consumer.model.GreetingCommandMessage;
+import io.smallrye.reactive.messaging.memory.InMemorySource;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.eclipse.microprofile.reactive.messaging.Message;
+
+/**
+ * Sends commands to the {@code greeting-commands} channel through the in-memory connector. An
+ * operation completes when GreetingCommandConsumer acks (accepted) or nacks (rejected) it.
+ */
+class InMemoryKafkaTarget implements LoadTarget {
+
+    private final InMemorySource<GreetingCommandMessage> source;
+
+    InMemoryKafkaTarget(InMemorySource<GreetingCommandMessage> source) {
+        this.source = source;
+    }
+
+    @Override
+    public CompletionStage<Boolean> execute(Operation operation, String name) {
+        GreetingCommandMessage command = switch (operation) {
+            case GREET -> new GreetingCommandMessage.GreetCommand(name);
+            case UNGREET -> new GreetingCommandMessage.UnGreetCommand(name);
+            case GET -> throw new IllegalArgumentException("Gets are only served over REST");
+        };
+        var processed = new CompletableFuture<Boolean>();
+        source.send(
+            Message.of(
+                command,
+                () -> {
+                    processed.complete(true);
+                    return CompletableFuture.completedFuture(null);
+                },
+                failure -> {
+                    processed.complete(false);
+                    return CompletableFuture.completedFuture(null);
+                }
+            )
+        );
+        return processed;
+    }
+}
@@ -0,0 +1,30 @@
+package com.gdfesta.example.loadtest;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+import java.util.Map;
+
+/**
+ * Replaces every Kafka channel with the in-memory connector so the application runs with
+ * Dev Services Postgres only.
+ */
+public class InMemoryMessagingProfile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Map.of(
+            "quarkus.kafka.devservices.enabled",
+            "false",
+            "mp.messaging.incoming.greeting-commands.connector",
+            "smallrye-in-memory",
+            "mp.messaging.outgoing.greeting-events.connector",
+            "smallrye-in-memory",
+            "mp.messaging.incoming.greeting-events-test.connector",
+            "smallrye-in-memory",
+            "mp.messaging.outgoing.greeting-commands-test.connector",
+            "smallrye-in-memory",
+            // Per-command info logs would dominate the profile under load
+            "quarkus.log.category.\"com.gdfesta.example\".level",
+            "WARN"
+        );
+    }
+}
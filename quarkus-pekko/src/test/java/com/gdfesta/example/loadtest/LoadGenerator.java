@@ -0,0 +1,114 @@
+package com.gdfesta.example.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.ConcurrentHistogram;
+
+/**
+ * Open-loop load generator: operations are started on a fixed schedule derived from the
+ * target rate, whatever the response times. Latency is measured from the time an operation
+ * was due, not from when it was actually sent, so a stalled system (or a full in-flight window)
+ * shows up in the percentiles instead of silently lowering the load (coordinated omission).
+ */
+class LoadGenerator {
+
+    private final LoadTestSettings settings;
+    private final LoadTarget rest;
+    private final LoadTarget kafka;
+    private final ZipfNameGenerator names;
+    private final int totalWeight;
+
+    private final Map<Operation, ConcurrentHistogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> rejected = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LoadGenerator(LoadTestSettings settings, LoadTarget rest, LoadTarget kafka) {
+        this.settings = settings;
+        this.rest = rest;
+        this.kafka = kafka;
+        this.names = new ZipfNameGenerator("load-", settings.names(), settings.zipfSkew());
+        this.totalWeight = settings.mix().values().stream().mapToInt(Integer::intValue).sum();
+        for (var operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(3));
+            rejected.put(operation, new LongAdder());
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    LoadTestReport run() throws InterruptedException {
+        var random = new SplittableRandom(42);
+        var inFlight = new Semaphore(settings.maxInFlight());
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+
+        for (long i = 0; ; i++) {
+            long due = start + i * intervalNanos;
+            if (due >= end) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+
+            var operation = nextOperation(random);
+            var name = names.next(random);
+            boolean viaKafka =
+                operation != Operation.GET && random.nextDouble() < settings.kafkaShare();
+            var target = viaKafka ? kafka : rest;
+
+            target
+                .execute(operation, name)
+                .whenComplete((accepted, failure) -> {
+                    inFlight.release();
+                    if (due < measureFrom) {
+                        return;
+                    }
+                    latencies.get(operation).recordValue(System.nanoTime() - due);
+                    if (failure != null) {
+                        errors.get(operation).increment();
+                    } else if (!accepted) {
+                        rejected.get(operation).increment();
+                    }
+                });
+        }
+
+        // Drain: wait for the operations still in flight
+        if (!inFlight.tryAcquire(settings.maxInFlight(), 30, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Operations still in flight 30s after the run");
+        }
+        return new LoadTestReport(
+            settings,
+            Duration.ofNanos(end - measureFrom),
+            latencies,
+            counts(rejected),
+            counts(errors)
+        );
+    }
+
+    private Operation nextOperation(SplittableRandom random) {
+        int pick = random.nextInt(totalWeight);
+        for (var entry : settings.mix().entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable: weights add up to " + totalWeight);
+    }
+
+    private static Map<Operation, Long> counts(Map<Operation, LongAdder> adders) {
+        var counts = new EnumMap<Operation, Long>(Operation.class);
+        adders.forEach((operation, adder) -> counts.put(operation, adder.sum()));
+        return counts;
+    }
+}
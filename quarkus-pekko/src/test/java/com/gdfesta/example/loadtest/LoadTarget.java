@@ -0,0 +1,12 @@
+package com.gdfesta.example.loadtest;
+
+import java.util.concurrent.CompletionStage;
+
+interface LoadTarget {
+    /**
+     * Completes with {@code true} when the application accepted the operation, {@code false}
+     * when it rejected it (e.g. greeting a closed name), and exceptionally on transport errors
+     * or timeouts.
+     */
+    CompletionStage<Boolean> execute(Operation operation, String name);
+}
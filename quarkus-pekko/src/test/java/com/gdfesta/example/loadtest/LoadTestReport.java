@@ -0,0 +1,70 @@
+package com.gdfesta.example.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+record LoadTestReport(
+    LoadTestSettings settings,
+    Duration measured,
+    Map<Operation, ? extends Histogram> latencies,
+    Map<Operation, Long> rejected,
+    Map<Operation, Long> errors
+) {
+    long completed() {
+        return latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    long totalErrors() {
+        return errors.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    void print(PrintStream out) {
+        double seconds = measured.toMillis() / 1000.0;
+        out.printf(
+            "%nLoad test: target %d ops/s for %ss over %d names (zipf %.2f), kafka share %.2f%n",
+            settings.rate(),
+            seconds,
+            settings.names(),
+            settings.zipfSkew(),
+            settings.kafkaShare()
+        );
+        out.printf(
+            "%-8s %10s %10s %9s %9s %9s %9s %9s %9s %9s%n",
+            "op",
+            "count",
+            "ops/s",
+            "rejected",
+            "errors",
+            "p50 ms",
+            "p90 ms",
+            "p99 ms",
+            "p99.9 ms",
+            "max ms"
+        );
+        latencies.forEach((operation, histogram) -> {
+            if (histogram.getTotalCount() == 0) {
+                return;
+            }
+            out.printf(
+                "%-8s %10d %10.1f %9d %9d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                operation,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                rejected.get(operation),
+                errors.get(operation),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())
+            );
+        });
+        out.printf("Completed %d operations, %.1f ops/s%n", completed(), completed() / seconds);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,65 @@
+package com.gdfesta.example.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Load test parameters, read from {@code loadtest.*} system properties (see README.md,
+ * "Load testing").
+ */
+record LoadTestSettings(
+    int rate,
+    Duration warmup,
+    Duration duration,
+    int names,
+    double zipfSkew,
+    Map<Operation, Integer> mix,
+    double kafkaShare,
+    int maxInFlight,
+    Optional<String> targetUrl
+) {
+    LoadTestSettings {
+        if (rate < 1) {
+            throw new IllegalArgumentException("loadtest.rate must be at least 1");
+        }
+        if (kafkaShare < 0 || kafkaShare > 1) {
+            throw new IllegalArgumentException("loadtest.kafka-share must be between 0 and 1");
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("loadtest.mix must have a positive weight");
+        }
+    }
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+            Integer.getInteger("loadtest.rate", 200),
+            Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+            Duration.parse(System.getProperty("loadtest.duration", "PT60S")),
+            Integer.getInteger("loadtest.names", 10_000),
+            Double.parseDouble(System.getProperty("loadtest.zipf-skew", "1.0")),
+            parseMix(System.getProperty("loadtest.mix", "greet=45,ungreet=15,get=40")),
+            Double.parseDouble(System.getProperty("loadtest.kafka-share", "0")),
+            Integer.getInteger("loadtest.max-in-flight", 1_000),
+            Optional.ofNullable(System.getProperty("loadtest.target-url"))
+        );
+    }
+
+    // "greet=45,ungreet=15,get=40": relative weights, they do not need to add up to 100
+    static Map<Operation, Integer> parseMix(String mix) {
+        var weights = new EnumMap<Operation, Integer>(Operation.class);
+        for (var entry : mix.split(",")) {
+            var parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+            }
+            weights.put(
+                Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)),
+                Integer.parseInt(parts[1].trim())
+            );
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,7 @@
+package com.gdfesta.example.loadtest;
+
+enum Operation {
+    GREET,
+    UNGREET,
+    GET,
+}
@@ -0,0 +1,41 @@
+package com.gdfesta.example.loadtest;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws names from a fixed name space following a Zipf distribution: name of rank k is picked
+ * with a probability proportional to 1 / k^skew, so a few names are hot and most are cold.
+ */
+class ZipfNameGenerator {
+
+    private final String prefix;
+    private final double[] cumulative;
+
+    ZipfNameGenerator(String prefix, int names, double skew) {
+        if (names < 1) {
+            throw new IllegalArgumentException("Name space must hold at least one name");
+        }
+        this.prefix = prefix;
+        this.cumulative = new double[names];
+        double sum = 0;
+        for (int rank = 1; rank <= names; rank++) {
+            sum += 1.0 / Math.pow(rank, skew);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < names; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    int nextRank(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        // binarySearch returns (-(insertion point) - 1) when there is no exact match
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1) + 1;
+    }
+
+    String next(RandomGenerator random) {
+        return prefix + nextRank(random);
+    }
+}
@@ -0,0 +1,79 @@
+package com.gdfesta.example.metrics;
+
+import static io.restassured.RestAssured.given;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.containsString;
+
+import io.quarkus.test.junit.QuarkusTest;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@DisplayName("Greeting metrics Integration Tests")
+class GreetingMetricsTest {
+
+    @Test
+    @DisplayName("Should export ask latency by operation and outcome")
+    void testServiceAskIsRecorded() {
+        String name = "test-" + UUID.randomUUID();
+        given().when().post("/greetings/{name}", name).then().statusCode(200);
+
+        given()
+            .when()
+            .get("/q/metrics")
+            .then()
+            .statusCode(200)
+            .body(
+                containsString(
+                    "greeting_service_ask_seconds_count{operation=\"greet\",outcome=\"success\""
+                )
+            )
+            .body(containsString("greeting_service_overloaded_total"));
+    }
+
+    @Test
+    @DisplayName("Should export projection and Kafka producer metrics once an event is projected")
+    void testProjectionAndKafkaAreRecorded() {
+        String name = "test-" + UUID.randomUUID();
+        given().when().post("/greetings/{name}", name).then().statusCode(200);
+
+        await()
+            .atMost(10, TimeUnit.SECONDS)
+            .pollInterval(200, TimeUnit.MILLISECONDS)
+            .untilAsserted(() ->
+                given()
+                    .when()
+                    .get("/q/metrics")
+                    .then()
+                    .statusCode(200)
+                    .body(containsString("greeting_projection_handler_seconds_count"))
+                    .body(containsString("greeting_projection_events_total"))
+                    .body(containsString("greeting_projection_lag_seconds"))
+                    .body(containsString("greeting_kafka_producer_publish_seconds_count"))
+                    .body(containsString("greeting_kafka_producer_pending"))
+            );
+    }
+
+    @Test
+    @DisplayName("Should export entity mailbox and dispatcher queue depths")
+    void testPekkoQueuesAreExported() {
+        given()
+            .when()
+            .get("/q/metrics")
+            .then()
+            .statusCode(200)
+            .body(containsString("pekko_mailbox_queued{mailbox=\"greeting-entity\""))
+            .body(
+                containsString(
+                    "pekko_dispatcher_queued{dispatcher=\"pekko.actor.default-dispatcher\""
+                )
+            )
+            .body(
+                containsString(
+                    "pekko_dispatcher_active{dispatcher=\"pekko.projection.jdbc.blocking-jdbc-dispatcher\""
+                )
+            );
+    }
+}
@@ -0,0 +1,31 @@
+package com.gdfesta.example.metrics;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+
+import io.quarkus.test.junit.QuarkusTest;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@DisplayName("GreetingRecoveryMetrics Integration Tests")
+class GreetingRecoveryMetricsTest {
+
+    @Test
+    @DisplayName("Should export the recovery of a started entity")
+    void testRecoveryIsRecorded() {
+        String name = "test-" + UUID.randomUUID();
+        given().when().post("/greetings/{name}", name).then().statusCode(200);
+
+        given()
+            .when()
+            .get("/q/metrics")
+            .then()
+            .statusCode(200)
+            .body(containsString("greeting_entity_recovery_seconds_count{snapshot=\"miss\""))
+            .body(containsString("greeting_entity_recovery_events_bucket"))
+            .body(containsString("greeting_entity_recovery_started_total"))
+            .body(containsString("greeting_entity_recovery_in_progress"));
+    }
+}
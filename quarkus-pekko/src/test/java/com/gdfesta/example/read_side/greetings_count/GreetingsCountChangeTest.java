@@ -0,0 +1,66 @@
+package com.gdfesta.example.read_side.greetings_count;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("GreetingsCountChange Tests")
+class GreetingsCountChangeTest {
+
+    private static int applyOneByOne(int count, List<GreetingEvent> events) {
+        for (var event : events) {
+            count = GreetingsCountChange.of(event).applyTo(count);
+        }
+        return count;
+    }
+
+    @Test
+    @DisplayName("Should never take the current count below zero")
+    void testUnGreetedAtZero() {
+        var change = GreetingsCountChange.of(new GreetingEvent.UnGreeted());
+
+        assertEquals(0, change.applyTo(0));
+        assertEquals(2, change.applyTo(3));
+        assertEquals(0, change.greetings());
+    }
+
+    @Test
+    @DisplayName("Should leave a row unchanged with NONE")
+    void testNone() {
+        assertEquals(4, GreetingsCountChange.NONE.applyTo(4));
+        assertEquals(0, GreetingsCountChange.NONE.greetings());
+    }
+
+    @Test
+    @DisplayName("Should compose into the same result as applying events one by one")
+    void testCompositionMatchesSequentialApplication() {
+        var random = new Random(7);
+        for (int run = 0; run < 500; run++) {
+            var events = new ArrayList<GreetingEvent>();
+            var composed = GreetingsCountChange.NONE;
+            int greetings = 0;
+            for (int i = random.nextInt(12); i > 0; i--) {
+                GreetingEvent event = random.nextBoolean()
+                    ? new GreetingEvent.Greeted("alice")
+                    : new GreetingEvent.UnGreeted();
+                events.add(event);
+                composed = composed.andThen(GreetingsCountChange.of(event));
+                greetings += event instanceof GreetingEvent.Greeted ? 1 : 0;
+            }
+
+            for (int start = 0; start < 6; start++) {
+                assertEquals(
+                    applyOneByOne(start, events),
+                    composed.applyTo(start),
+                    events.toString()
+                );
+            }
+            assertEquals(greetings, composed.greetings());
+        }
+    }
+}
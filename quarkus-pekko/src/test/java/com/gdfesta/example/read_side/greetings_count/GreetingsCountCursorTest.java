@@ -0,0 +1,55 @@
+package com.gdfesta.example.read_side.greetings_count;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("GreetingsCountCursor Tests")
+class GreetingsCountCursorTest {
+
+    private static final GreetingsCountView ROW = new GreetingsCountView(
+        "a|b c",
+        7,
+        2,
+        Instant.parse("2026-01-02T03:04:05.123456Z")
+    );
+
+    @Test
+    @DisplayName("Should decode what it encoded, for every sort")
+    void testRoundTrip() {
+        for (var sort : GreetingsCountSort.values()) {
+            var cursor = GreetingsCountCursor.after(sort, ROW);
+            var decoded = GreetingsCountCursor.decode(sort, cursor.encode());
+
+            assertEquals(ROW.name(), decoded.name());
+            switch (sort) {
+                case COUNT -> assertEquals(7, decoded.greetingCount());
+                case NAME -> {}
+                case LAST_GREETED_AT -> assertEquals(ROW.lastGreetedAt(), decoded.lastGreetedAt());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor of another sort")
+    void testOtherSort() {
+        var token = GreetingsCountCursor.after(GreetingsCountSort.COUNT, ROW).encode();
+
+        assertThrows(IllegalArgumentException.class, () ->
+            GreetingsCountCursor.decode(GreetingsCountSort.NAME, token)
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed cursor")
+    void testMalformed() {
+        assertThrows(IllegalArgumentException.class, () ->
+            GreetingsCountCursor.decode(GreetingsCountSort.COUNT, "not a cursor!")
+        );
+        assertThrows(IllegalArgumentException.class, () ->
+            GreetingsCountCursor.decode(GreetingsCountSort.COUNT, "Q09VTlR8eHx5")
+        );
+    }
+}
@@ -0,0 +1,87 @@
+package com.gdfesta.example.read_side.greetings_count;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingEvent;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.pekko.persistence.query.Offset;
+import org.apache.pekko.projection.eventsourced.EventEnvelope;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("GreetingsCountGroupedReadSideHandler Tests")
+class GreetingsCountGroupedReadSideHandlerTest {
+
+    private long sequence = 0;
+
+    private EventEnvelope<GreetingEvent> envelope(String name, GreetingEvent event) {
+        sequence++;
+        return EventEnvelope.create(
+            Offset.sequence(sequence),
+            "greeting-aggregate|" + name,
+            sequence,
+            event,
+            System.currentTimeMillis()
+        );
+    }
+
+    private static Map<String, Integer> greetings(Map<String, GreetingsCountChange> changes) {
+        var greetings = new HashMap<String, Integer>();
+        changes.forEach((name, change) -> greetings.put(name, change.greetings()));
+        return greetings;
+    }
+
+    @Test
+    @DisplayName("Should fold Greeted events into one delta per name")
+    void testFoldsGreetedEventsPerName() {
+        var envelopes = List.of(
+            envelope("alice", new GreetingEvent.Greeted("alice")),
+            envelope("bob", new GreetingEvent.Greeted("bob")),
+            envelope("alice", new GreetingEvent.Greeted("alice")),
+            envelope("alice", new GreetingEvent.Greeted("alice"))
+        );
+
+        var changes = GreetingsCountGroupedReadSideHandler.countChanges(envelopes);
+
+        assertEquals(Map.of("alice", 3, "bob", 1), greetings(changes));
+        assertEquals(3, changes.get("alice").applyTo(0));
+    }
+
+    @Test
+    @DisplayName("Should not count UnGreeted events as greetings")
+    void testIgnoresUnGreetedEvents() {
+        var envelopes = List.of(
+            envelope("alice", new GreetingEvent.Greeted("alice")),
+            envelope("alice", new GreetingEvent.UnGreeted()),
+            envelope("bob", new GreetingEvent.UnGreeted())
+        );
+
+        var changes = GreetingsCountGroupedReadSideHandler.countChanges(envelopes);
+
+        assertEquals(Map.of("alice", 1, "bob", 0), greetings(changes));
+    }
+
+    @Test
+    @DisplayName("Should fold UnGreeted events into the current count by entity id")
+    void testFoldsCurrentCount() {
+        var envelopes = List.of(
+            envelope("alice", new GreetingEvent.UnGreeted()),
+            envelope("alice", new GreetingEvent.Greeted("alice")),
+            envelope("alice", new GreetingEvent.Greeted("alice")),
+            envelope("alice", new GreetingEvent.UnGreeted())
+        );
+
+        var change = GreetingsCountGroupedReadSideHandler.countChanges(envelopes).get("alice");
+
+        assertEquals(1, change.applyTo(0));
+        assertEquals(2, change.applyTo(2));
+    }
+
+    @Test
+    @DisplayName("Should return no changes for an empty group")
+    void testEmptyGroup() {
+        assertTrue(GreetingsCountGroupedReadSideHandler.countChanges(List.of()).isEmpty());
+    }
+}
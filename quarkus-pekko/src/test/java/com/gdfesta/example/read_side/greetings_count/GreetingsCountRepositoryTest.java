@@ -2,12 +2,17 @@ package com.gdfesta.example.read_side.greetings_count;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.gdfesta.quarkus.pekko.HibernateSessionFactory;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -22,6 +27,9 @@ class GreetingsCountRepositoryTest {
     @Inject
     EntityManager entityManager;
 
+    @Inject
+    HibernateSessionFactory sessionFactory;
+
     private String generateUniqueName() {
         return "test-" + UUID.randomUUID();
     }
@@ -191,6 +199,208 @@ class GreetingsCountRepositoryTest {
         assertEquals(3, repository.findById(charlie).greetingCount);
     }
 
+    @Test
+    @DisplayName("Should apply a delta in a single upsert")
+    void testUpsertWithDelta() {
+        String name = generateUniqueName();
+
+        repository.upsertGreeting(name, 3);
+        clearCache();
+        assertEquals(3, repository.findById(name).greetingCount);
+
+        repository.upsertGreeting(name, 2);
+        clearCache();
+        assertEquals(5, repository.findById(name).greetingCount);
+    }
+
+    @Test
+    @DisplayName("Should write through the projection session and commit with it")
+    void testSessionUpsertCommitsWithSession() {
+        String alice = generateUniqueName();
+        String bob = generateUniqueName();
+
+        var session = sessionFactory.newInstance();
+        try {
+            repository.upsertGreeting(session, alice, 1);
+            repository.upsertGreeting(session, alice, 1);
+            repository.upsertGreeting(session, bob, 2);
+            session.commit();
+        } finally {
+            session.close();
+        }
+        clearCache();
+
+        assertEquals(2, repository.findById(alice).greetingCount);
+        assertEquals(2, repository.findById(bob).greetingCount);
+    }
+
+    @Test
+    @DisplayName("Should discard session writes when the session rolls back")
+    void testSessionUpsertRollsBackWithSession() {
+        String name = generateUniqueName();
+
+        var session = sessionFactory.newInstance();
+        try {
+            repository.upsertGreeting(session, name, 3);
+            session.rollback();
+        } finally {
+            session.close();
+        }
+        clearCache();
+
+        assertNull(repository.findById(name));
+    }
+
+    @Test
+    @DisplayName("Should track the current count next to the total of greetings")
+    void testCurrentCount() {
+        String name = generateUniqueName();
+
+        var session = sessionFactory.newInstance();
+        try {
+            repository.upsertGreeting(session, name, 1);
+            repository.upsertGreeting(session, name, 1);
+            repository.ungreet(session, name);
+            repository.ungreet(session, name);
+            repository.ungreet(session, name);
+            session.commit();
+        } finally {
+            session.close();
+        }
+        clearCache();
+
+        GreetingsCountModel result = repository.findById(name);
+        assertEquals(2, result.greetingCount);
+        assertEquals(0, result.currentCount);
+        assertEquals(0, repository.currentCount(generateUniqueName()));
+    }
+
+    @Test
+    @DisplayName("Should apply folded changes, inserting only names that were greeted")
+    void testApplyChanges() {
+        String alice = generateUniqueName();
+        String bob = generateUniqueName();
+        String charlie = generateUniqueName();
+        repository.upsertGreeting(alice, 3);
+
+        var greeted = new GreetingsCountChange(1, 1, 0);
+        var unGreeted = new GreetingsCountChange(0, -1, 0);
+        List<GreetingsCountView> rows;
+        var session = sessionFactory.newInstance();
+        try {
+            rows = repository.applyChanges(
+                session,
+                Map.of(
+                    alice,
+                    unGreeted.andThen(unGreeted).andThen(greeted),
+                    bob,
+                    greeted.andThen(greeted),
+                    charlie,
+                    unGreeted
+                )
+            );
+            session.commit();
+        } finally {
+            session.close();
+        }
+        clearCache();
+
+        assertEquals(4, repository.findById(alice).greetingCount);
+        assertEquals(2, repository.findById(alice).currentCount);
+        assertEquals(2, repository.findById(bob).currentCount);
+        assertNull(repository.findById(charlie));
+        assertEquals(
+            Map.of(alice, 4, bob, 2),
+            rows
+                .stream()
+                .collect(
+                    Collectors.toMap(GreetingsCountView::name, GreetingsCountView::greetingCount)
+                )
+        );
+    }
+
+    @Test
+    @DisplayName("Should return the updated row from a session upsert")
+    void testSessionUpsertReturnsRow() {
+        String name = generateUniqueName();
+        repository.upsertGreeting(name, 2);
+
+        GreetingsCountView row;
+        var session = sessionFactory.newInstance();
+        try {
+            row = repository.upsertGreeting(session, name, 1);
+            session.commit();
+        } finally {
+            session.close();
+        }
+
+        assertEquals(name, row.name());
+        assertEquals(3, row.greetingCount());
+        assertEquals(3, row.currentCount());
+        assertNotNull(row.lastGreetedAt());
+    }
+
+    // Follows cursors from the first page to the last, keeping only the given names: rows
+    // written concurrently by the projections of other tests may show up in between
+    private List<String> listAll(GreetingsCountSort sort, int limit, List<String> names) {
+        var listed = new ArrayList<String>();
+        GreetingsCountCursor cursor = null;
+        while (true) {
+            var page = repository.page(sort, cursor, limit);
+            page
+                .stream()
+                .map(GreetingsCountView::name)
+                .filter(names::contains)
+                .forEach(listed::add);
+            if (page.size() < limit) {
+                return listed;
+            }
+            cursor = GreetingsCountCursor.after(sort, page.getLast());
+        }
+    }
+
+    @Test
+    @DisplayName("Should page by count, most greeted first and ties by name")
+    void testPageByCount() {
+        String a = "page-a-" + UUID.randomUUID();
+        String b = "page-b-" + UUID.randomUUID();
+        String c = "page-c-" + UUID.randomUUID();
+        String d = "page-d-" + UUID.randomUUID();
+        Map.of(a, 1, b, 3, c, 3, d, 2).forEach(repository::upsertGreeting);
+
+        assertEquals(
+            List.of(b, c, d, a),
+            listAll(GreetingsCountSort.COUNT, 2, List.of(a, b, c, d))
+        );
+    }
+
+    @Test
+    @DisplayName("Should page by name in alphabetical order")
+    void testPageByName() {
+        var names = new ArrayList<String>();
+        for (int i = 0; i < 5; i++) {
+            names.add(generateUniqueName());
+        }
+        names.forEach(repository::upsertGreeting);
+
+        var expected = names.stream().sorted().toList();
+        assertEquals(expected, listAll(GreetingsCountSort.NAME, 2, names));
+    }
+
+    @Test
+    @DisplayName("Should page by last greeting, most recent first")
+    void testPageByLastGreetedAt() throws InterruptedException {
+        var names = new ArrayList<String>();
+        for (int i = 0; i < 4; i++) {
+            String name = generateUniqueName();
+            repository.upsertGreeting(name);
+            names.add(name);
+            Thread.sleep(5);
+        }
+
+        assertEquals(names.reversed(), listAll(GreetingsCountSort.LAST_GREETED_AT, 3, names));
+    }
+
     @Test
     @DisplayName("Should return null for non-existent name")
     void testNonExistentName() {
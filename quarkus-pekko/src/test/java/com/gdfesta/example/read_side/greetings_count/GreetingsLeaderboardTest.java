@@ -0,0 +1,83 @@
+package com.gdfesta.example.read_side.greetings_count;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("GreetingsLeaderboard Tests")
+class GreetingsLeaderboardTest {
+
+    private GreetingsLeaderboard leaderboard;
+
+    private static GreetingsCountView row(String name, int greetingCount) {
+        return new GreetingsCountView(name, greetingCount, greetingCount, Instant.now());
+    }
+
+    private List<String> topNames(int limit) {
+        return leaderboard.top(limit).orElseThrow().stream().map(GreetingsCountView::name).toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new GreetingsLeaderboard();
+        leaderboard.size = 3;
+    }
+
+    @Test
+    @DisplayName("Should not serve anything before the first refresh")
+    void testNotSeeded() {
+        leaderboard.offer(List.of(row("alice", 1)));
+
+        assertTrue(leaderboard.top(1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should order by count, ties by name")
+    void testOrder() {
+        leaderboard.seed(List.of(row("carol", 2), row("alice", 1)));
+        leaderboard.offer(List.of(row("bob", 2)));
+
+        assertEquals(List.of("bob", "carol", "alice"), topNames(3));
+        assertEquals(List.of("bob"), topNames(1));
+    }
+
+    @Test
+    @DisplayName("Should keep only the most greeted names")
+    void testEviction() {
+        leaderboard.seed(List.of(row("alice", 3), row("bob", 2), row("carol", 1)));
+
+        leaderboard.offer(List.of(row("dave", 5)));
+        assertEquals(List.of("dave", "alice", "bob"), topNames(3));
+
+        // An update of a name that was not kept brings it back once it outgrows the last one
+        leaderboard.offer(List.of(row("carol", 4)));
+        assertEquals(List.of("dave", "carol", "alice"), topNames(3));
+
+        leaderboard.offer(List.of(row("erin", 1)));
+        assertEquals(List.of("dave", "carol", "alice"), topNames(3));
+    }
+
+    @Test
+    @DisplayName("Should refuse limits above its size")
+    void testLimitAboveSize() {
+        leaderboard.seed(List.of(row("alice", 1)));
+
+        assertEquals(List.of("alice"), topNames(3));
+        assertTrue(leaderboard.top(4).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep an offered row newer than the one a refresh read")
+    void testRefreshKeepsNewerRows() {
+        leaderboard.seed(List.of(row("alice", 1)));
+        leaderboard.offer(List.of(row("alice", 3)));
+
+        leaderboard.seed(List.of(row("alice", 2), row("bob", 1)));
+
+        assertEquals(3, leaderboard.top(1).orElseThrow().getFirst().greetingCount());
+    }
+}
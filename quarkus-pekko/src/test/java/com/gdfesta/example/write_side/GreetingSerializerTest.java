@@ -0,0 +1,244 @@
+package com.gdfesta.example.write_side;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gdfesta.example.write_side.greeting.aggregate.CloseState;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingCommand;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingEvent;
+import com.gdfesta.example.write_side.greeting.aggregate.GreetingState;
+import com.gdfesta.example.write_side.greeting.aggregate.OpenState;
+import com.gdfesta.example.write_side.greeting.aggregate.RecentCommandIds;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.io.NotSerializableException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.apache.pekko.actor.ExtendedActorSystem;
+import org.apache.pekko.actor.typed.ActorRef;
+import org.apache.pekko.actor.typed.ActorSystem;
+import org.apache.pekko.actor.typed.Props;
+import org.apache.pekko.actor.typed.javadsl.Behaviors;
+import org.apache.pekko.pattern.StatusReply;
+import org.apache.pekko.serialization.Serialization;
+import org.apache.pekko.serialization.SerializationExtension;
+import org.apache.pekko.serialization.jackson.JacksonJsonSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@DisplayName("GreetingSerializer Integration Tests")
+class GreetingSerializerTest {
+
+    @Inject
+    ActorSystem<Void> actorSystem;
+
+    private Serialization serialization;
+    private GreetingSerializer binary;
+
+    @BeforeEach
+    void setUp() {
+        serialization = SerializationExtension.get(actorSystem);
+        binary = new GreetingSerializer((ExtendedActorSystem) actorSystem.classicSystem());
+    }
+
+    // Written by GreetingSerializer whatever greeting.serializer binds, read back through the
+    // registry by its identifier as a journal row would be
+    private Object roundTrip(Object message) {
+        byte[] bytes = binary.toBinary(message);
+        var manifest = binary.manifest(message);
+        return serialization.deserialize(bytes, binary.identifier(), manifest).get();
+    }
+
+    private <T> ActorRef<T> newActorRef() {
+        return actorSystem.systemActorOf(
+            Behaviors.<T>empty(),
+            "serializer-test-" + UUID.randomUUID(),
+            Props.empty()
+        );
+    }
+
+    @Test
+    @DisplayName("Should round-trip events")
+    void testEvents() {
+        assertEquals(
+            new GreetingEvent.Greeted("Alice"),
+            roundTrip(new GreetingEvent.Greeted("Alice"))
+        );
+        assertEquals(new GreetingEvent.UnGreeted(), roundTrip(new GreetingEvent.UnGreeted()));
+    }
+
+    @Test
+    @DisplayName("Should round-trip states")
+    void testStates() {
+        assertEquals(new OpenState(3, 5), roundTrip(new OpenState(3, 5)));
+        assertEquals(new OpenState(300, 100_000), roundTrip(new OpenState(300, 100_000)));
+        assertEquals(new CloseState(5), roundTrip(new CloseState(5)));
+    }
+
+    @Test
+    @DisplayName("Should round-trip commands with their reply-to refs")
+    void testCommands() {
+        ActorRef<StatusReply<GreetingState>> replyTo = newActorRef();
+        ActorRef<GreetingState> getReplyTo = newActorRef();
+
+        var greet = new GreetingCommand.Greet("Bob", replyTo);
+        var unGreet = new GreetingCommand.UnGreet(replyTo);
+        var batch = new GreetingCommand.Batch(List.of(greet, unGreet), newActorRef());
+
+        assertEquals(greet, roundTrip(greet));
+        assertEquals(unGreet, roundTrip(unGreet));
+        assertEquals(
+            new GreetingCommand.Get(getReplyTo),
+            roundTrip(new GreetingCommand.Get(getReplyTo))
+        );
+        assertEquals(batch, roundTrip(batch));
+
+        var applyAll = new GreetingCommand.ApplyAll(
+            "Bob",
+            List.of(
+                GreetingCommand.Operation.GREET,
+                GreetingCommand.Operation.UNGREET,
+                GreetingCommand.Operation.GREET
+            ),
+            replyTo
+        );
+        assertEquals(applyAll, roundTrip(applyAll));
+    }
+
+    @Test
+    @DisplayName("Should round-trip command ids and the recent ids of states")
+    void testCommandIds() {
+        ActorRef<StatusReply<GreetingState>> replyTo = newActorRef();
+        var recent = RecentCommandIds.EMPTY.add("cmd-1").add("cmd-2");
+
+        var events = List.of(
+            new GreetingEvent.Greeted("Alice", "cmd-1"),
+            new GreetingEvent.UnGreeted("cmd-2")
+        );
+        for (var event : events) {
+            assertEquals(event, roundTrip(event));
+        }
+        assertEquals(new OpenState(2, 5, recent), roundTrip(new OpenState(2, 5, recent)));
+        assertEquals(new CloseState(5, recent), roundTrip(new CloseState(5, recent)));
+
+        var greet = new GreetingCommand.Greet("Bob", "cmd-3", replyTo);
+        var unGreet = new GreetingCommand.UnGreet("cmd-4", replyTo);
+        assertEquals(greet, roundTrip(greet));
+        assertEquals(unGreet, roundTrip(unGreet));
+        // Written like a missing ApplyAll id: read back as no id
+        assertEquals(
+            new GreetingCommand.Greet("Bob", replyTo),
+            roundTrip(new GreetingCommand.Greet("Bob", "", replyTo))
+        );
+
+        var applyAll = new GreetingCommand.ApplyAll(
+            "Bob",
+            List.of(GreetingCommand.Operation.GREET, GreetingCommand.Operation.UNGREET),
+            Arrays.asList("cmd-5", null),
+            replyTo
+        );
+        assertEquals(applyAll, roundTrip(applyAll));
+    }
+
+    @Test
+    @DisplayName("Should keep greeting messages on Jackson JSON by default")
+    void testDefaultBinding() {
+        // Nodes of the previous release cannot read greeting-binary: see README.md
+        assertInstanceOf(
+            JacksonJsonSerializer.class,
+            serialization.findSerializerFor(new GreetingEvent.Greeted("Alice"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should write smaller payloads and manifests than Jackson JSON")
+    void testCompactness() {
+        var system = (ExtendedActorSystem) actorSystem.classicSystem();
+        var jackson = new JacksonJsonSerializer(system, "jackson-json");
+        ActorRef<StatusReply<GreetingState>> replyTo = newActorRef();
+
+        // The messages of GreetingSerializerBenchmark
+        List<Object> messages = List.of(
+            new GreetingEvent.Greeted("Alice"),
+            new OpenState(3, 5),
+            new GreetingCommand.Greet("Alice", replyTo)
+        );
+        for (var message : messages) {
+            assertTrue(
+                binary.toBinary(message).length < jackson.toBinary(message).length,
+                "payload of " + message
+            );
+            assertTrue(
+                binary.manifest(message).length() < jackson.manifest(message).length(),
+                "manifest of " + message
+            );
+        }
+    }
+
+    private Object readJackson(String json, Class<?> type) {
+        int jacksonId = actorSystem
+            .settings()
+            .config()
+            .getInt("pekko.actor.serialization-identifiers.jackson-json");
+        return serialization
+            .deserialize(json.getBytes(StandardCharsets.UTF_8), jacksonId, type.getName())
+            .get();
+    }
+
+    @Test
+    @DisplayName("Should still read events and snapshots written as Jackson JSON")
+    void testReadsExistingJacksonRows() {
+        // Written before command ids existed
+        assertEquals(
+            new GreetingEvent.Greeted("Alice"),
+            readJackson("{\"name\":\"Alice\"}", GreetingEvent.Greeted.class)
+        );
+        assertEquals(
+            new GreetingEvent.UnGreeted(),
+            readJackson("{}", GreetingEvent.UnGreeted.class)
+        );
+        assertEquals(
+            new OpenState(2, 5),
+            readJackson("{\"count\":2,\"maxCount\":5}", OpenState.class)
+        );
+        assertEquals(new CloseState(5), readJackson("{\"count\":5}", CloseState.class));
+    }
+
+    @Test
+    @DisplayName("Should read command ids from events and snapshots written as Jackson JSON")
+    void testReadsJacksonRowsWithCommandIds() {
+        var recent = RecentCommandIds.EMPTY.add("cmd-1").add("cmd-2");
+        var recentJson = "\"recentCommandIds\":{\"ids\":[\"cmd-1\",\"cmd-2\"]}";
+
+        assertEquals(
+            new GreetingEvent.Greeted("Alice", "cmd-1"),
+            readJackson(
+                "{\"name\":\"Alice\",\"commandId\":\"cmd-1\"}",
+                GreetingEvent.Greeted.class
+            )
+        );
+        assertEquals(
+            new GreetingEvent.UnGreeted("cmd-2"),
+            readJackson("{\"commandId\":\"cmd-2\"}", GreetingEvent.UnGreeted.class)
+        );
+        assertEquals(
+            new OpenState(2, 5, recent),
+            readJackson("{\"count\":2,\"maxCount\":5," + recentJson + "}", OpenState.class)
+        );
+        assertEquals(
+            new CloseState(5, recent),
+            readJackson("{\"count\":5," + recentJson + "}", CloseState.class)
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject payloads written with unknown flags")
+    void testUnknownFlags() {
+        assertThrows(NotSerializableException.class, () ->
+            binary.fromBinary(new byte[] { (byte) 0x80 }, "EU")
+        );
+    }
+}
@@ -72,4 +72,18 @@ class CloseStateTest {
         OpenState openState = (OpenState) newState;
         assertEquals(5, openState.maxCount());
     }
+
+    @Test
+    @DisplayName("Should answer a redelivered closing greet instead of rejecting it")
+    void testDuplicateGreetCommand() {
+        GreetingState state = new OpenState(4, 5).onEvent(
+            new GreetingEvent.Greeted("John", "cmd-5")
+        );
+        assertInstanceOf(CloseState.class, state);
+
+        assertTrue(state.onCommand(new GreetingCommand.Greet("John", "cmd-5", null)).isEmpty());
+        assertThrows(IllegalStateException.class, () ->
+            state.onCommand(new GreetingCommand.Greet("John", "cmd-6", null))
+        );
+    }
 }
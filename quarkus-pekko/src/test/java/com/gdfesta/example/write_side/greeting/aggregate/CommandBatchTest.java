@@ -0,0 +1,133 @@
+package com.gdfesta.example.write_side.greeting.aggregate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import org.apache.pekko.pattern.StatusReply;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CommandBatch Tests")
+class CommandBatchTest {
+
+    @Test
+    @DisplayName("Should validate commands in sequence and reply with each intermediate state")
+    void testSequentialValidation() {
+        CommandBatch batch = CommandBatch.validate(
+            new OpenState(0, 5),
+            List.of(
+                new GreetingCommand.Greet("Alice", null),
+                new GreetingCommand.Greet("Alice", null),
+                new GreetingCommand.UnGreet(null)
+            )
+        );
+
+        assertEquals(
+            List.of(
+                new GreetingEvent.Greeted("Alice"),
+                new GreetingEvent.Greeted("Alice"),
+                new GreetingEvent.UnGreeted()
+            ),
+            batch.events()
+        );
+        assertEquals(new OpenState(1, 5), batch.replies().get(0).getValue());
+        assertEquals(new OpenState(2, 5), batch.replies().get(1).getValue());
+        assertEquals(new OpenState(1, 5), batch.replies().get(2).getValue());
+    }
+
+    @Test
+    @DisplayName("Should reject only the commands that are invalid at their position")
+    void testRejectionInsideBatch() {
+        CommandBatch batch = CommandBatch.validate(
+            new OpenState(4, 5),
+            List.of(
+                new GreetingCommand.Greet("Bob", null),
+                new GreetingCommand.Greet("Bob", null),
+                new GreetingCommand.UnGreet(null),
+                new GreetingCommand.Greet("Bob", null)
+            )
+        );
+
+        assertEquals(
+            List.of(
+                new GreetingEvent.Greeted("Bob"),
+                new GreetingEvent.UnGreeted(),
+                new GreetingEvent.Greeted("Bob")
+            ),
+            batch.events()
+        );
+        assertTrue(batch.replies().get(0).isSuccess());
+        assertInstanceOf(CloseState.class, batch.replies().get(0).getValue());
+        assertTrue(batch.replies().get(1).isError());
+        assertEquals(new OpenState(4, 5), batch.replies().get(2).getValue());
+        assertInstanceOf(CloseState.class, batch.replies().get(3).getValue());
+    }
+
+    @Test
+    @DisplayName("Should produce no events when every command is rejected")
+    void testAllRejected() {
+        CommandBatch batch = CommandBatch.validate(
+            new CloseState(5),
+            List.of(new GreetingCommand.Greet("Carol", null))
+        );
+
+        assertTrue(batch.events().isEmpty());
+        assertTrue(batch.replies().getFirst().isError());
+    }
+
+    @Test
+    @DisplayName("Should summarize an accepted batch as its final state")
+    void testSummaryAllAccepted() {
+        var applyAll = new GreetingCommand.ApplyAll(
+            "Alice",
+            List.of(GreetingCommand.Operation.GREET, GreetingCommand.Operation.GREET),
+            null
+        );
+        CommandBatch batch = CommandBatch.validate(new OpenState(0, 5), applyAll.commands());
+
+        assertEquals(2, batch.events().size());
+        assertEquals(new OpenState(2, 5), batch.summary(new OpenState(2, 5)).getValue());
+    }
+
+    @Test
+    @DisplayName("Should summarize a batch with rejections as its final state")
+    void testSummaryWithRejections() {
+        var applyAll = new GreetingCommand.ApplyAll(
+            "Bob",
+            List.of(
+                GreetingCommand.Operation.GREET,
+                GreetingCommand.Operation.GREET,
+                GreetingCommand.Operation.GREET
+            ),
+            null
+        );
+        CommandBatch batch = CommandBatch.validate(new OpenState(3, 5), applyAll.commands());
+
+        assertEquals(2, batch.events().size());
+        assertEquals(1, batch.replies().stream().filter(StatusReply::isError).count());
+        var summary = batch.summary(new CloseState(5));
+        assertTrue(summary.isSuccess());
+        assertEquals(new CloseState(5), summary.getValue());
+    }
+
+    @Test
+    @DisplayName("Should apply a command id repeated within a batch once")
+    void testDuplicateWithinBatch() {
+        var applyAll = new GreetingCommand.ApplyAll(
+            "Dave",
+            List.of(
+                GreetingCommand.Operation.GREET,
+                GreetingCommand.Operation.GREET,
+                GreetingCommand.Operation.GREET
+            ),
+            Arrays.asList("cmd-1", "cmd-1", null),
+            null
+        );
+        CommandBatch batch = CommandBatch.validate(new OpenState(0, 5), applyAll.commands());
+
+        assertEquals(2, batch.events().size());
+        assertTrue(batch.replies().stream().allMatch(StatusReply::isSuccess));
+        assertEquals(1, batch.replies().get(1).getValue().count());
+    }
+}
@@ -0,0 +1,46 @@
+package com.gdfesta.example.write_side.greeting.aggregate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("GreetingTags Tests")
+class GreetingTagsTest {
+
+    @Test
+    @DisplayName("Should derive one tag per slice")
+    void testAllTags() {
+        GreetingTags tags = new GreetingTags("greeting-", 3);
+
+        assertEquals(List.of("greeting-0", "greeting-1", "greeting-2"), tags.all());
+    }
+
+    @Test
+    @DisplayName("Should keep the original mapping for five slices")
+    void testOriginalMappingIsPreserved() {
+        GreetingTags tags = new GreetingTags("greeting-", 5);
+
+        for (String name : List.of("Alice", "Bob", "Charlie", "test-1234", "")) {
+            int slice = Math.abs(name.hashCode() % 5);
+            assertEquals("greeting-" + slice, tags.tagFor(name));
+        }
+    }
+
+    @Test
+    @DisplayName("Should always pick a tag within range")
+    void testTagForIsWithinRange() {
+        GreetingTags tags = new GreetingTags("greeting-", 7);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(tags.all().contains(tags.tagFor("name-" + i)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a count below one")
+    void testRejectsInvalidCount() {
+        assertThrows(IllegalArgumentException.class, () -> new GreetingTags("greeting-", 0));
+    }
+}
@@ -113,4 +113,26 @@ class OpenStateTest {
         assertEquals(2, originalState.count()); // Original unchanged
         assertEquals(3, newState.count()); // New state modified
     }
+
+    @Test
+    @DisplayName("Should remember the command id of applied events")
+    void testEventRecordsCommandId() {
+        OpenState state = new OpenState(0, 5);
+
+        GreetingState newState = state.onEvent(new GreetingEvent.Greeted("Dave", "cmd-1"));
+
+        assertEquals(List.of("cmd-1"), newState.recentCommandIds().ids());
+    }
+
+    @Test
+    @DisplayName("Should return no events for a command id already applied")
+    void testDuplicateCommand() {
+        GreetingState state = new OpenState(0, 5).onEvent(
+            new GreetingEvent.Greeted("Eve", "cmd-1")
+        );
+
+        assertTrue(state.onCommand(new GreetingCommand.Greet("Eve", "cmd-1", null)).isEmpty());
+        assertTrue(state.onCommand(new GreetingCommand.UnGreet("cmd-1", null)).isEmpty());
+        assertEquals(1, state.onCommand(new GreetingCommand.Greet("Eve", "cmd-2", null)).size());
+    }
 }
@@ -0,0 +1,31 @@
+package com.gdfesta.example.write_side.greeting.aggregate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RecentCommandIds Tests")
+class RecentCommandIdsTest {
+
+    @Test
+    @DisplayName("Should ignore commands without an id")
+    void testNullId() {
+        assertSame(RecentCommandIds.EMPTY, RecentCommandIds.EMPTY.add(null));
+        assertFalse(RecentCommandIds.EMPTY.contains(null));
+    }
+
+    @Test
+    @DisplayName("Should forget the oldest ids beyond the capacity")
+    void testBounded() {
+        var recent = RecentCommandIds.EMPTY;
+        for (int i = 0; i <= RecentCommandIds.CAPACITY; i++) {
+            recent = recent.add("cmd-" + i);
+        }
+
+        assertEquals(RecentCommandIds.CAPACITY, recent.ids().size());
+        assertFalse(recent.contains("cmd-0"));
+        assertTrue(recent.contains("cmd-1"));
+        assertTrue(recent.contains("cmd-" + RecentCommandIds.CAPACITY));
+    }
+}
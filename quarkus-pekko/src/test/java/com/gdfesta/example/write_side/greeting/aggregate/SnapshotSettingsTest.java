@@ -0,0 +1,60 @@
+package com.gdfesta.example.write_side.greeting.aggregate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.typesafe.config.ConfigFactory;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SnapshotSettings Tests")
+class SnapshotSettingsTest {
+
+    @Test
+    @DisplayName("Should read the snapshot settings from config")
+    void testFromConfig() {
+        var config = ConfigFactory.parseString(
+            """
+            greeting.aggregate.snapshot {
+              every = 20
+              keep-n-snapshots = 2
+              delete-events-on-snapshot = on
+              max-age = 10m
+              after-recovery-replayed-events = 5
+            }
+            """
+        );
+
+        var settings = SnapshotSettings.fromConfig(config);
+
+        assertEquals(new SnapshotSettings(20, 2, true, Duration.ofMinutes(10), 5), settings);
+        assertTrue(settings.snapshotsOnAge());
+        assertTrue(settings.snapshotsAfterRecovery());
+    }
+
+    @Test
+    @DisplayName("Should default to the historical snapshotEvery(100, 3) only")
+    void testDefault() {
+        var settings = SnapshotSettings.DEFAULT;
+
+        assertEquals(100, settings.every());
+        assertEquals(3, settings.keepNSnapshots());
+        assertFalse(settings.deleteEventsOnSnapshot());
+        assertFalse(settings.snapshotsOnAge());
+        assertFalse(settings.snapshotsAfterRecovery());
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive counts")
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () ->
+            new SnapshotSettings(0, 3, false, Duration.ZERO, 0)
+        );
+        assertThrows(IllegalArgumentException.class, () ->
+            new SnapshotSettings(100, 0, false, Duration.ZERO, 0)
+        );
+        assertThrows(IllegalArgumentException.class, () ->
+            new SnapshotSettings(100, 3, false, Duration.ofSeconds(-1), 0)
+        );
+    }
+}
@@ -0,0 +1,87 @@
+package com.gdfesta.example.write_side.greeting.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("EntityInFlightLimiter Tests")
+class EntityInFlightLimiterTest {
+
+    @Test
+    @DisplayName("Should reject once an entity reaches its limit, until a slot is released")
+    void testLimitPerEntity() {
+        var limiter = new EntityInFlightLimiter(2);
+
+        assertTrue(limiter.tryAcquire("alice"));
+        assertTrue(limiter.tryAcquire("alice"));
+        assertFalse(limiter.tryAcquire("alice"));
+        assertEquals(2, limiter.inFlight("alice"));
+
+        limiter.release("alice");
+        assertTrue(limiter.tryAcquire("alice"));
+    }
+
+    @Test
+    @DisplayName("Should count each entity separately")
+    void testIndependentEntities() {
+        var limiter = new EntityInFlightLimiter(1);
+
+        assertTrue(limiter.tryAcquire("alice"));
+        assertTrue(limiter.tryAcquire("bob"));
+        assertFalse(limiter.tryAcquire("alice"));
+    }
+
+    @Test
+    @DisplayName("Should forget an entity once nothing is in flight")
+    void testReleaseToZero() {
+        var limiter = new EntityInFlightLimiter(1);
+
+        limiter.tryAcquire("alice");
+        limiter.release("alice");
+        limiter.release("alice");
+
+        assertEquals(0, limiter.inFlight("alice"));
+        assertTrue(limiter.tryAcquire("alice"));
+    }
+
+    @Test
+    @DisplayName("Should never admit more than the limit under contention")
+    void testConcurrentAcquire() throws Exception {
+        var limiter = new EntityInFlightLimiter(8);
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(16);
+        try {
+            var results = new ArrayList<Future<Boolean>>();
+            for (int i = 0; i < 64; i++) {
+                results.add(
+                    executor.submit(() -> {
+                        start.await();
+                        return limiter.tryAcquire("alice");
+                    })
+                );
+            }
+            start.countDown();
+
+            int admitted = 0;
+            for (var result : results) {
+                admitted += result.get(5, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            assertEquals(8, admitted);
+            assertEquals(8, limiter.inFlight("alice"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse a limit below 1")
+    void testInvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new EntityInFlightLimiter(0));
+    }
+}
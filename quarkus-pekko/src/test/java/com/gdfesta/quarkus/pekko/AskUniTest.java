@@ -0,0 +1,90 @@
+package com.gdfesta.quarkus.pekko;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import org.apache.pekko.pattern.StatusReply;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AskUni Tests")
+class AskUniTest {
+
+    @Test
+    @DisplayName("Should emit the reply of a plain ask")
+    void testPlainReply() {
+        var subscriber = AskUni.fromAsk(CompletableFuture.completedFuture("hello"))
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create());
+
+        subscriber.assertItem("hello");
+    }
+
+    @Test
+    @DisplayName("Should unwrap a successful StatusReply")
+    void testStatusReplySuccess() {
+        var subscriber = AskUni.fromStatusReply(
+            CompletableFuture.completedFuture(StatusReply.success(3))
+        )
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create());
+
+        subscriber.assertItem(3);
+    }
+
+    @Test
+    @DisplayName("Should fail with the error of a StatusReply error")
+    void testStatusReplyError() {
+        var subscriber = AskUni.<Integer>fromStatusReply(
+            CompletableFuture.completedFuture(StatusReply.error("Max greetings reached"))
+        )
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create());
+
+        subscriber.assertFailedWith(StatusReply.ErrorMessage.class, "Max greetings reached");
+    }
+
+    @Test
+    @DisplayName("Should fail with the cause of a failed ask, not a CompletionException")
+    void testAskFailure() {
+        var reply = new CompletableFuture<String>();
+        var subscriber = AskUni.fromAsk(reply.thenApply(value -> value))
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create());
+
+        reply.completeExceptionally(new TimeoutException("Ask timed out"));
+
+        subscriber.assertFailedWith(TimeoutException.class, "Ask timed out");
+        assertFalse(subscriber.getFailure() instanceof CompletionException);
+    }
+
+    @Test
+    @DisplayName("Should emit a reply that arrives after subscription")
+    void testLateReply() {
+        var reply = new CompletableFuture<String>();
+        var subscriber = AskUni.fromAsk(reply)
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create());
+
+        subscriber.assertNotTerminated();
+        reply.complete("late");
+        subscriber.assertItem("late");
+    }
+
+    @Test
+    @DisplayName("Should not emit anything once cancelled")
+    void testCancelled() {
+        var reply = new CompletableFuture<String>();
+        var subscriber = AskUni.fromAsk(reply)
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create());
+
+        subscriber.cancel();
+        reply.complete("ignored");
+
+        subscriber.assertNotTerminated();
+    }
+}
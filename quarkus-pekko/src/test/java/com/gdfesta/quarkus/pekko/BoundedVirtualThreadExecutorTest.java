@@ -0,0 +1,70 @@
+package com.gdfesta.quarkus.pekko;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.gdfesta.quarkus.pekko.VirtualThreadExecutorConfigurator.BoundedVirtualThreadExecutor;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BoundedVirtualThreadExecutor Tests")
+class BoundedVirtualThreadExecutorTest {
+
+    @Test
+    @DisplayName("Should run every task on a virtual thread named after the dispatcher")
+    void testRunsOnVirtualThreads() throws Exception {
+        var executor = new BoundedVirtualThreadExecutor("blocking-dispatcher", 2);
+        try {
+            var thread = CompletableFuture.supplyAsync(Thread::currentThread, executor).get(
+                5,
+                TimeUnit.SECONDS
+            );
+
+            assertTrue(thread.isVirtual());
+            assertTrue(thread.getName().startsWith("blocking-dispatcher-"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should run at most max-concurrency tasks at once and queue the others")
+    void testLimitsConcurrency() throws Exception {
+        var executor = new BoundedVirtualThreadExecutor("blocking-dispatcher", 2);
+        var release = new CountDownLatch(1);
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        try {
+            var tasks = new CompletableFuture<?>[6];
+            for (int i = 0; i < tasks.length; i++) {
+                tasks[i] = CompletableFuture.runAsync(
+                    () -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        running.decrementAndGet();
+                    },
+                    executor
+                );
+            }
+            while (executor.queued() < 4) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(2, executor.active());
+
+            release.countDown();
+            CompletableFuture.allOf(tasks).get(5, TimeUnit.SECONDS);
+
+            assertEquals(2, maxRunning.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
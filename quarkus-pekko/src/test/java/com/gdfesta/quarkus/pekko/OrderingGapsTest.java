@@ -0,0 +1,77 @@
+package com.gdfesta.quarkus.pekko;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("OrderingGaps Tests")
+class OrderingGapsTest {
+
+    private static final long TIMEOUT = Duration.ofSeconds(10).toNanos();
+
+    @Test
+    @DisplayName("Should move over contiguous orderings")
+    void testContiguous() {
+        var gaps = new OrderingGaps(10, Duration.ofSeconds(10));
+
+        assertTrue(gaps.advance(List.of(11L, 12L, 13L), 0).isEmpty());
+        assertEquals(13, gaps.position());
+    }
+
+    @Test
+    @DisplayName("Should stop before a gap until it is filled")
+    void testWaitsForGap() {
+        var gaps = new OrderingGaps(10, Duration.ofSeconds(10));
+
+        gaps.advance(List.of(11L, 13L, 14L), 0);
+        assertEquals(11, gaps.position());
+
+        gaps.advance(List.of(12L, 13L, 14L), 1_000);
+        assertEquals(14, gaps.position());
+    }
+
+    @Test
+    @DisplayName("Should move past a gap once it timed out")
+    void testSkipsTimedOutGap() {
+        var gaps = new OrderingGaps(10, Duration.ofSeconds(10));
+
+        gaps.advance(List.of(13L, 14L), 0);
+        assertEquals(10, gaps.position());
+
+        assertTrue(gaps.advance(List.of(13L, 14L), TIMEOUT - 1).isEmpty());
+        assertEquals(10, gaps.position());
+
+        var skipped = gaps.advance(List.of(13L, 14L), TIMEOUT);
+        assertEquals(List.of(new OrderingGaps.Skipped(11, 12)), skipped);
+        assertEquals(14, gaps.position());
+    }
+
+    @Test
+    @DisplayName("Should time gaps seen in the same batch together")
+    void testGapsTimedTogether() {
+        var gaps = new OrderingGaps(0, Duration.ofSeconds(10));
+
+        gaps.advance(List.of(2L, 4L, 6L), 0);
+        assertEquals(0, gaps.position());
+
+        var skipped = gaps.advance(List.of(2L, 4L, 6L), TIMEOUT);
+        assertEquals(3, skipped.size());
+        assertEquals(6, gaps.position());
+    }
+
+    @Test
+    @DisplayName("Should time a gap first seen later from when it was seen")
+    void testLaterGapTimedFromItsFirstSight() {
+        var gaps = new OrderingGaps(0, Duration.ofSeconds(10));
+
+        gaps.advance(List.of(2L), 0);
+        gaps.advance(List.of(2L, 3L, 5L), TIMEOUT);
+        assertEquals(3, gaps.position());
+
+        gaps.advance(List.of(5L), TIMEOUT + 1);
+        assertEquals(3, gaps.position());
+    }
+}
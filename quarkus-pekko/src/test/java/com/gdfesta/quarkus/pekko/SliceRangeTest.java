@@ -0,0 +1,56 @@
+package com.gdfesta.quarkus.pekko;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SliceRange Tests")
+class SliceRangeTest {
+
+    @Test
+    @DisplayName("Should split all slices into contiguous ranges")
+    void testSplitCoversAllSlices() {
+        List<SliceRange> ranges = SliceRange.split(3);
+
+        assertEquals(3, ranges.size());
+        assertEquals(0, ranges.getFirst().min());
+        assertEquals(SliceRange.NUMBER_OF_SLICES - 1, ranges.getLast().max());
+        for (int i = 1; i < ranges.size(); i++) {
+            assertEquals(ranges.get(i - 1).max() + 1, ranges.get(i).min());
+        }
+    }
+
+    @Test
+    @DisplayName("Should split evenly when the worker count divides the slices")
+    void testEvenSplit() {
+        assertEquals(
+            List.of(
+                new SliceRange(0, 255),
+                new SliceRange(256, 511),
+                new SliceRange(512, 767),
+                new SliceRange(768, 1023)
+            ),
+            SliceRange.split(4)
+        );
+    }
+
+    @Test
+    @DisplayName("Should round-trip through its projection key")
+    void testKeyRoundTrip() {
+        SliceRange range = new SliceRange(256, 511);
+
+        assertEquals("slices-256-511", range.key());
+        assertEquals(range, SliceRange.fromKey(range.key()));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid ranges and keys")
+    void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> SliceRange.split(0));
+        assertThrows(IllegalArgumentException.class, () -> new SliceRange(0, 1024));
+        assertThrows(IllegalArgumentException.class, () -> new SliceRange(10, 5));
+        assertThrows(IllegalArgumentException.class, () -> SliceRange.fromKey("greeting-0"));
+    }
+}